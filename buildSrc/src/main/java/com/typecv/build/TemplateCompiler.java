@@ -0,0 +1,647 @@
+package com.typecv.build;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Translates the FreeMarker templates under {@code src/main/resources/templates}
+ * into Java classes in {@code com.typecv.renderer}, so the CLI renders without
+ * parsing or interpreting templates at runtime.
+ * <p>
+ * Only the subset of FTL the bundled templates use is understood: interpolations,
+ * {@code if}/{@code elseif}/{@code else}, {@code list ... as} with {@code _has_next},
+ * {@code assign}, the {@code ??} and {@code !} operators, comparisons, boolean logic
+ * and the {@code size}, {@code join} and {@code replace} built-ins. Anything else
+ * fails the build with the template name and line. White-space stripping follows
+ * FreeMarker: a line holding nothing but directive tags is dropped with its line break.
+ * <p>
+ * Root variables mirror the data model built by {@code RenderContext}; generated
+ * code is plain Java, so javac type-checks every expression against the model records.
+ */
+public final class TemplateCompiler {
+    
+    private static final String PACKAGE = "com.typecv.renderer";
+    private static final String REGISTRY = "CompiledTemplates";
+    
+    /**
+     * Keys of the {@code cv} hash and the Java expressions that produce them.
+     * Display text comes from the escaped view, links stay raw.
+     */
+    private static final Map<String, String> CV_KEYS = Map.of(
+        "name", "escaped.name()",
+        "headline", "escaped.headline()",
+        "location", "escaped.location()",
+        "phone", "escaped.phone()",
+        "emailEscaped", "escaped.email()",
+        "email", "cv.email()",
+        "photo", "cv.photo()",
+        "website", "cv.website()",
+        "socialNetworks", "cv.socialNetworks()",
+        "sections", "cv.sections()"
+    );
+    
+    private TemplateCompiler() {
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: TemplateCompiler <template dir> <output dir>");
+            System.exit(2);
+        }
+        compile(Path.of(args[0]), Path.of(args[1]));
+    }
+    
+    /**
+     * Compile every .ftl file under {@code templateDir} and write one class per
+     * template plus the {@code CompiledTemplates} registry below {@code outputDir}.
+     */
+    public static void compile(Path templateDir, Path outputDir) throws IOException {
+        Map<String, String> classes = new TreeMap<>();
+        try (Stream<Path> files = Files.walk(templateDir)) {
+            for (Path file : (Iterable<Path>) files.filter(p -> p.toString().endsWith(".ftl")).sorted()::iterator) {
+                String name = templateDir.relativize(file).toString().replace('\\', '/');
+                String source = Files.readString(file, StandardCharsets.UTF_8);
+                classes.put(name, new Generator(name, source).generate());
+            }
+        }
+        
+        Path packageDir = outputDir.resolve(PACKAGE.replace('.', '/'));
+        Files.createDirectories(packageDir);
+        StringBuilder registry = new StringBuilder();
+        registry.append("package ").append(PACKAGE).append(";\n\n")
+            .append("import java.util.Map;\n\n")
+            .append("/**\n * Templates compiled from FTL at build time, keyed by template name.\n */\n")
+            .append("final class ").append(REGISTRY).append(" {\n\n")
+            .append("    static final Map<String, FragmentTemplate> ALL = Map.ofEntries(\n");
+        int i = 0;
+        for (Map.Entry<String, String> entry : classes.entrySet()) {
+            String className = className(entry.getKey());
+            Files.writeString(packageDir.resolve(className + ".java"), entry.getValue(), StandardCharsets.UTF_8);
+            registry.append("        Map.entry(").append(literal(entry.getKey())).append(", new ")
+                .append(className).append("())").append(++i < classes.size() ? ",\n" : "\n");
+        }
+        registry.append("    );\n\n    private ").append(REGISTRY).append("() {\n    }\n}\n");
+        Files.writeString(packageDir.resolve(REGISTRY + ".java"), registry.toString(), StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * "entries/ExperienceEntry.ftl" becomes "ExperienceEntryTemplate".
+     */
+    static String className(String templateName) {
+        String base = templateName.substring(templateName.lastIndexOf('/') + 1, templateName.length() - ".ftl".length());
+        return base + "Template";
+    }
+    
+    static String literal(String text) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20 || c > 0x7e) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+    
+    /**
+     * One template: a flat token stream turned into Java statements.
+     */
+    private static final class Generator {
+        private final String name;
+        private final String source;
+        private final StringBuilder body = new StringBuilder();
+        private final StringBuilder pendingText = new StringBuilder();
+        private final Deque<String> blocks = new ArrayDeque<>();
+        private final Set<String> roots = new LinkedHashSet<>();
+        private final Set<String> assigned = new HashSet<>();
+        private final Deque<Set<String>> scopes = new ArrayDeque<>();
+        private int line;
+        
+        Generator(String name, String source) {
+            this.name = name;
+            this.source = source;
+            scopes.push(new HashSet<>());
+        }
+        
+        String generate() {
+            String[] lines = source.split("(?<=\n)", -1);
+            for (String raw : lines) {
+                line++;
+                if (raw.isEmpty()) {
+                    continue;
+                }
+                String terminator = raw.endsWith("\r\n") ? "\r\n" : raw.endsWith("\n") ? "\n" : "";
+                List<Token> tokens = tokenize(raw.substring(0, raw.length() - terminator.length()));
+                if (isDirectiveOnly(tokens)) {
+                    for (Token token : tokens) {
+                        if (token.kind == Kind.DIRECTIVE) {
+                            directive(token.text);
+                        }
+                    }
+                    continue;
+                }
+                for (Token token : tokens) {
+                    switch (token.kind) {
+                        case TEXT -> pendingText.append(token.text);
+                        case INTERPOLATION -> statement("out.write(CompiledSupport.text(" + expression(token.text) + ", "
+                            + literal(token.text) + "));");
+                        case DIRECTIVE -> directive(token.text);
+                    }
+                }
+                pendingText.append(terminator);
+            }
+            flushText();
+            if (!blocks.isEmpty()) {
+                throw error("Unclosed <#" + blocks.peek() + ">");
+            }
+            return classSource();
+        }
+        
+        private String classSource() {
+            String entryType = name.startsWith("entries/") ? className(name).replaceFirst("Template$", "") : null;
+            StringBuilder sb = new StringBuilder();
+            sb.append("package ").append(PACKAGE).append(";\n\n")
+                .append("import com.typecv.model.*;\n")
+                .append("import freemarker.template.TemplateException;\n\n")
+                .append("import java.io.IOException;\n")
+                .append("import java.io.Writer;\n")
+                .append("import java.util.Objects;\n\n")
+                .append("/**\n * Compiled from templates/").append(name).append("; do not edit.\n */\n")
+                .append("final class ").append(className(name)).append(" implements FragmentTemplate {\n\n")
+                .append("    @Override\n    public String name() {\n        return ").append(literal(name)).append(";\n    }\n\n")
+                .append("    @Override\n")
+                .append("    public void render(RenderContext context, Object value, Writer out) throws IOException, TemplateException {\n");
+            for (String root : roots) {
+                switch (root) {
+                    case "cv" -> sb.append("        CvData cv = context.cv().cv();\n");
+                    case "escaped" -> sb.append("        CvData escaped = context.escapedCv();\n");
+                    case "design" -> sb.append("        Design design = context.cv().design();\n");
+                    case "locale" -> sb.append("        Locale locale = context.cv().locale();\n");
+                    case "sectionTitle" -> sb.append("        String sectionTitle = (String) value;\n");
+                    case "entry" -> {
+                        if (entryType == null) {
+                            throw error("'entry' is only available in entries/ templates");
+                        }
+                        sb.append("        ").append(entryType).append(" entry = (").append(entryType).append(") value;\n");
+                    }
+                    default -> throw new IllegalStateException(root);
+                }
+            }
+            return sb.append(body).append("    }\n}\n").toString();
+        }
+        
+        // -- Lines and tokens -------------------------------------------------
+        
+        private enum Kind { TEXT, INTERPOLATION, DIRECTIVE }
+        
+        private record Token(Kind kind, String text) {
+        }
+        
+        private static boolean isDirectiveOnly(List<Token> tokens) {
+            boolean directive = false;
+            for (Token token : tokens) {
+                if (token.kind == Kind.INTERPOLATION || (token.kind == Kind.TEXT && !token.text.isBlank())) {
+                    return false;
+                }
+                directive |= token.kind == Kind.DIRECTIVE;
+            }
+            return directive;
+        }
+        
+        /**
+         * Split one source line into text, ${...} and <#...>/</#...> tokens.
+         * Directive tokens keep the leading "/" of closing tags.
+         */
+        private List<Token> tokenize(String text) {
+            List<Token> tokens = new ArrayList<>();
+            int pos = 0;
+            int textStart = 0;
+            while (pos < text.length()) {
+                Kind kind;
+                String prefix = "";
+                int open;
+                if (text.startsWith("${", pos)) {
+                    kind = Kind.INTERPOLATION;
+                    open = pos + 2;
+                } else if (text.startsWith("<#", pos)) {
+                    kind = Kind.DIRECTIVE;
+                    open = pos + 2;
+                } else if (text.startsWith("</#", pos)) {
+                    kind = Kind.DIRECTIVE;
+                    prefix = "/";
+                    open = pos + 3;
+                } else {
+                    pos++;
+                    continue;
+                }
+                if (textStart < pos) {
+                    tokens.add(new Token(Kind.TEXT, text.substring(textStart, pos)));
+                }
+                int close = findClose(text, open, kind == Kind.INTERPOLATION ? '}' : '>');
+                tokens.add(new Token(kind, prefix + text.substring(open, close)));
+                pos = close + 1;
+                textStart = pos;
+            }
+            if (textStart < text.length()) {
+                tokens.add(new Token(Kind.TEXT, text.substring(textStart)));
+            }
+            return tokens;
+        }
+        
+        /**
+         * Find the closing character outside string literals and parentheses,
+         * which is also how FreeMarker decides where a tag ends.
+         */
+        private int findClose(String text, int from, char closer) {
+            int depth = 0;
+            for (int i = from; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"' || c == '\'') {
+                    i = skipString(text, i);
+                } else if (c == '(') {
+                    depth++;
+                } else if (c == ')') {
+                    depth--;
+                } else if (c == closer && depth == 0) {
+                    return i;
+                }
+            }
+            throw error("Unterminated " + (closer == '}' ? "interpolation" : "tag"));
+        }
+        
+        private int skipString(String text, int start) {
+            char quote = text.charAt(start);
+            for (int i = start + 1; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    return i;
+                }
+            }
+            throw error("Unterminated string literal");
+        }
+        
+        // -- Directives -------------------------------------------------------
+        
+        private void directive(String tag) {
+            flushText();
+            String keyword = tag.split("[\\s>]", 2)[0];
+            String args = tag.substring(keyword.length()).trim();
+            switch (keyword) {
+                case "if" -> {
+                    statement("if (" + expression(args) + ") {");
+                    open("if");
+                }
+                case "elseif" -> {
+                    expectBlock("if", keyword);
+                    closeScope();
+                    continuation("} else if (" + expression(args) + ") {");
+                    scopes.push(new HashSet<>());
+                }
+                case "else" -> {
+                    expectBlock("if", keyword);
+                    closeScope();
+                    continuation("} else {");
+                    scopes.push(new HashSet<>());
+                }
+                case "/if" -> {
+                    expectBlock("if", keyword);
+                    close();
+                    statement("}");
+                }
+                case "list" -> {
+                    int as = args.lastIndexOf(" as ");
+                    if (as < 0) {
+                        throw error("Expected <#list items as item>");
+                    }
+                    String item = args.substring(as + 4).trim();
+                    String iterator = item + "Iterator";
+                    statement("for (var " + iterator + " = (" + expression(args.substring(0, as)) + ").iterator(); "
+                        + iterator + ".hasNext();) {");
+                    open("list");
+                    declare(item);
+                    declare(item + "_has_next");
+                    statement("var " + item + " = " + iterator + ".next();");
+                    statement("boolean " + item + "_has_next = " + iterator + ".hasNext();");
+                }
+                case "/list" -> {
+                    expectBlock("list", keyword);
+                    close();
+                    statement("}");
+                }
+                case "assign" -> {
+                    int eq = args.indexOf('=');
+                    if (eq < 0) {
+                        throw error("Expected <#assign name = value>");
+                    }
+                    String variable = args.substring(0, eq).trim();
+                    String value = expression(args.substring(eq + 1));
+                    if (assigned.add(variable)) {
+                        declare(variable);
+                        statement("var " + variable + " = " + value + ";");
+                    } else {
+                        statement(variable + " = " + value + ";");
+                    }
+                }
+                default -> throw error("Unsupported directive <#" + keyword + ">");
+            }
+        }
+        
+        private void open(String block) {
+            blocks.push(block);
+            scopes.push(new HashSet<>());
+        }
+        
+        private void close() {
+            blocks.pop();
+            closeScope();
+        }
+        
+        private void closeScope() {
+            scopes.pop();
+        }
+        
+        private void declare(String variable) {
+            scopes.peek().add(variable);
+        }
+        
+        private boolean isLocal(String variable) {
+            for (Set<String> scope : scopes) {
+                if (scope.contains(variable)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private void expectBlock(String block, String keyword) {
+            if (!block.equals(blocks.peek())) {
+                throw error("<#" + keyword + "> without matching <#" + block + ">");
+            }
+        }
+        
+        private void statement(String code) {
+            flushText();
+            body.append("    ".repeat(2 + blocks.size())).append(code).append('\n');
+        }
+        
+        /**
+         * Emit an "} else" line, which sits at the level of the enclosing if.
+         */
+        private void continuation(String code) {
+            flushText();
+            body.append("    ".repeat(1 + blocks.size())).append(code).append('\n');
+        }
+        
+        private void flushText() {
+            if (pendingText.length() > 0) {
+                String text = pendingText.toString();
+                pendingText.setLength(0);
+                body.append("    ".repeat(2 + blocks.size())).append("out.write(").append(literal(text)).append(");\n");
+            }
+        }
+        
+        // -- Expressions ------------------------------------------------------
+        
+        private String expression(String text) {
+            ExpressionParser parser = new ExpressionParser(text);
+            String code = parser.or();
+            parser.skipSpace();
+            if (!parser.atEnd()) {
+                throw error("Unexpected '" + text.substring(parser.pos) + "' in expression: " + text);
+            }
+            return code;
+        }
+        
+        /**
+         * Recursive descent over FTL expressions, emitting Java source.
+         */
+        private final class ExpressionParser {
+            private final String text;
+            private int pos;
+            
+            ExpressionParser(String text) {
+                this.text = text;
+            }
+            
+            String or() {
+                String left = and();
+                while (consume("||")) {
+                    left = left + " || " + and();
+                }
+                return left;
+            }
+            
+            String and() {
+                String left = not();
+                while (consume("&&")) {
+                    left = left + " && " + not();
+                }
+                return left;
+            }
+            
+            String not() {
+                skipSpace();
+                if (peek('!') && !text.startsWith("!=", pos)) {
+                    pos++;
+                    return "!(" + not() + ")";
+                }
+                return comparison();
+            }
+            
+            String comparison() {
+                String left = postfix();
+                for (String op : new String[] {"==", "!=", ">=", "<=", ">", "<"}) {
+                    if (consume(op)) {
+                        String right = postfix();
+                        return switch (op) {
+                            case "==" -> "Objects.equals(" + left + ", " + right + ")";
+                            case "!=" -> "!Objects.equals(" + left + ", " + right + ")";
+                            default -> "(" + left + " " + op + " " + right + ")";
+                        };
+                    }
+                }
+                return left;
+            }
+            
+            String postfix() {
+                String code = primary();
+                while (true) {
+                    if (text.startsWith("??", pos)) {
+                        pos += 2;
+                        code = "(" + code + " != null)";
+                    } else if (peek('?')) {
+                        pos++;
+                        code = builtIn(code, identifier());
+                    } else if (peek('!') && !text.startsWith("!=", pos)) {
+                        pos++;
+                        skipSpace();
+                        String fallback = startsOperand() ? primary() : "\"\"";
+                        code = "CompiledSupport.orDefault(" + code + ", " + fallback + ")";
+                    } else if (peek('.')) {
+                        pos++;
+                        String member = identifier();
+                        code = code + "." + member + (peek('(') ? "(" + arguments() + ")" : "()");
+                    } else {
+                        return code;
+                    }
+                }
+            }
+            
+            private String builtIn(String target, String builtIn) {
+                return switch (builtIn) {
+                    case "size" -> "CompiledSupport.size(" + target + ")";
+                    case "join" -> "CompiledSupport.join(" + target + ", " + arguments() + ")";
+                    case "replace" -> "CompiledSupport.replace(" + target + ", " + arguments() + ")";
+                    default -> throw error("Unsupported built-in ?" + builtIn);
+                };
+            }
+            
+            String primary() {
+                skipSpace();
+                if (peek('(')) {
+                    pos++;
+                    String inner = or();
+                    expect(')');
+                    return "(" + inner + ")";
+                }
+                if (peek('"') || peek('\'')) {
+                    int end = skipString(text, pos);
+                    String value = text.substring(pos + 1, end);
+                    pos = end + 1;
+                    return "\"" + value.replace("\\'", "'") + "\"";
+                }
+                if (Character.isDigit(text.charAt(pos))) {
+                    int start = pos;
+                    while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+                        pos++;
+                    }
+                    return text.substring(start, pos);
+                }
+                String identifier = identifier();
+                switch (identifier) {
+                    case "true", "false" -> {
+                        return identifier;
+                    }
+                    case "escapeTypst" -> {
+                        return "CompiledSupport.escape(" + arguments() + ")";
+                    }
+                    case "cv" -> {
+                        expect('.');
+                        String key = identifier();
+                        String code = CV_KEYS.get(key);
+                        if (code == null) {
+                            throw error("Unknown key cv." + key);
+                        }
+                        roots.add(code.startsWith("escaped.") ? "escaped" : "cv");
+                        return code;
+                    }
+                    case "design", "locale", "entry", "sectionTitle" -> {
+                        if (!isLocal(identifier)) {
+                            roots.add(identifier);
+                        }
+                        return identifier;
+                    }
+                    default -> {
+                        if (!isLocal(identifier)) {
+                            throw error("Unknown variable '" + identifier + "'");
+                        }
+                        return identifier;
+                    }
+                }
+            }
+            
+            private String arguments() {
+                expect('(');
+                List<String> args = new ArrayList<>();
+                skipSpace();
+                if (!peek(')')) {
+                    do {
+                        args.add(or());
+                    } while (consume(","));
+                }
+                expect(')');
+                return String.join(", ", args);
+            }
+            
+            private String identifier() {
+                skipSpace();
+                int start = pos;
+                while (pos < text.length() && (Character.isLetterOrDigit(text.charAt(pos)) || text.charAt(pos) == '_')) {
+                    pos++;
+                }
+                if (start == pos) {
+                    throw error("Expected a name at '" + text.substring(start) + "' in expression: " + text);
+                }
+                return text.substring(start, pos);
+            }
+            
+            private boolean startsOperand() {
+                if (atEnd()) {
+                    return false;
+                }
+                char c = text.charAt(pos);
+                return Character.isLetterOrDigit(c) || c == '"' || c == '\'' || c == '(';
+            }
+            
+            private boolean consume(String token) {
+                skipSpace();
+                if (text.startsWith(token, pos)) {
+                    pos += token.length();
+                    return true;
+                }
+                return false;
+            }
+            
+            private void expect(char c) {
+                skipSpace();
+                if (!peek(c)) {
+                    throw error("Expected '" + c + "' in expression: " + text);
+                }
+                pos++;
+            }
+            
+            private boolean peek(char c) {
+                return pos < text.length() && text.charAt(pos) == c;
+            }
+            
+            void skipSpace() {
+                while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                    pos++;
+                }
+            }
+            
+            boolean atEnd() {
+                return pos >= text.length();
+            }
+        }
+        
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("templates/" + name + ":" + line + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.typecv;
+
+import com.typecv.model.CV;
+import com.typecv.util.YamlParser;
+
+import java.io.IOException;
+
+/**
+ * Synthetic CV inputs shared by the benchmarks.
+ */
+public final class CvFixtures {
+    
+    private CvFixtures() {
+    }
+    
+    /**
+     * Build a CV YAML document with the given number of experience entries.
+     */
+    public static String yaml(int entries) {
+        StringBuilder yaml = new StringBuilder();
+        yaml.append("""
+            cv:
+              name: John Doe
+              headline: Software Engineer
+              location: San Francisco, CA
+              email: john.doe@email.com
+              phone: "+1 555 123 4567"
+              website: https://johndoe.dev
+              social_networks:
+                - network: LinkedIn
+                  username: johndoe
+                - network: GitHub
+                  username: johndoe
+              sections:
+                summary:
+                  - Passionate software engineer with 5+ years of experience building scalable systems.
+                experience:
+            """);
+        for (int i = 0; i < entries; i++) {
+            yaml.append("      - company: Company ").append(i).append('\n');
+            yaml.append("        position: Senior Software Engineer\n");
+            yaml.append("        start_date: 2020-01\n");
+            yaml.append("        end_date: present\n");
+            yaml.append("        location: San Francisco, CA\n");
+            yaml.append("        summary: Led the platform team for product line ").append(i).append('\n');
+            yaml.append("        highlights:\n");
+            yaml.append("          - Built microservices serving 10M+ requests/day at $0.01 per call\n");
+            yaml.append("          - Reduced p99 latency by 40% for the checkout_service API\n");
+            yaml.append("          - Mentored 5 engineers and ran the weekly design review\n");
+        }
+        yaml.append("""
+                skills:
+                  - bullet: "Languages: Java, Python, TypeScript, SQL"
+                  - bullet: "Tools: Docker, Kubernetes, AWS, Git"
+            design:
+              theme: classic
+            """);
+        return yaml.toString();
+    }
+    
+    /**
+     * Parse a CV with the given number of experience entries.
+     */
+    public static CV cv(int entries) throws IOException {
+        return YamlParser.shared().parseString(yaml(entries));
+    }
+}
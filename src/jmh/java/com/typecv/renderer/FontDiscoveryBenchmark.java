@@ -0,0 +1,65 @@
+package com.typecv.renderer;
+
+import com.typecv.CvFixtures;
+import com.typecv.model.CV;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@code typst compile} of a small CV with Typst discovering the system fonts
+ * versus loading only the {@link FontIndex} directory. The saving grows with the
+ * number of installed fonts. {@code prepare} is the cost the index adds to every
+ * render once it is built. Needs a Typst binary (bundled or on the PATH).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FontDiscoveryBenchmark {
+    
+    @Param({"system", "indexed"})
+    private String fonts;
+    
+    private CV cv;
+    private byte[] source;
+    private FontIndex index;
+    private TypstRunner runner;
+    
+    @Setup
+    public void setUp() throws Exception {
+        cv = CvFixtures.cv(10);
+        source = TemplateEngine.shared().render(cv).getBytes(StandardCharsets.UTF_8);
+        index = FontIndex.openDefault();
+        runner = new TypstRunner();
+        runner.initialize();
+        if (fonts.equals("indexed")) {
+            Path fontDir = index.prepare(cv.design());
+            if (fontDir == null) {
+                throw new IllegalStateException("A font of the CV is not installed");
+            }
+            runner.setFontDir(fontDir);
+        }
+    }
+    
+    @Benchmark
+    public int compile() throws Exception {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        CompileResult result = runner.compile(new ByteArrayInputStream(source), pdf);
+        if (!result.success()) {
+            throw new IllegalStateException(result.diagnostics().toString());
+        }
+        return pdf.size();
+    }
+    
+    @Benchmark
+    public Path prepare() throws Exception {
+        return index.prepare(cv.design());
+    }
+}
@@ -0,0 +1,72 @@
+package com.typecv.renderer;
+
+import com.typecv.CvFixtures;
+import com.typecv.model.CV;
+import freemarker.template.Configuration;
+import freemarker.template.DefaultObjectWrapperBuilder;
+import freemarker.template.ObjectWrapper;
+import freemarker.template.Template;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-entry render cost with the record wrapper versus FreeMarker's default bean
+ * wrapper, rendering the experience entry template over one section.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectWrapperBenchmark {
+    
+    @Param({"200"})
+    private int entries;
+    
+    private List<Object> section;
+    private Renderer defaultWrapper;
+    private Renderer recordWrapper;
+    
+    @Setup
+    public void setUp() throws Exception {
+        CV cv = CvFixtures.cv(entries);
+        section = cv.cv().sections().get("experience");
+        defaultWrapper = new Renderer(cv, new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_32).build());
+        recordWrapper = new Renderer(cv, new RecordObjectWrapper(Configuration.VERSION_2_3_32));
+    }
+    
+    @Benchmark
+    public void defaultWrapper() throws Exception {
+        defaultWrapper.render(section);
+    }
+    
+    @Benchmark
+    public void recordWrapper() throws Exception {
+        recordWrapper.render(section);
+    }
+    
+    private static final class Renderer {
+        private final Template template;
+        private final RenderContext context;
+        
+        Renderer(CV cv, ObjectWrapper wrapper) throws Exception {
+            Configuration cfg = new Configuration(Configuration.VERSION_2_3_32);
+            cfg.setClassLoaderForTemplateLoading(Renderer.class.getClassLoader(), "templates");
+            cfg.setDefaultEncoding("UTF-8");
+            cfg.setObjectWrapper(wrapper);
+            template = cfg.getTemplate("entries/ExperienceEntry.ftl");
+            context = RenderContext.of(cv, wrapper);
+        }
+        
+        void render(List<Object> section) throws Exception {
+            Writer out = Writer.nullWriter();
+            for (Object entry : section) {
+                template.process(context.with("entry", EscapedViews.entry(entry)), out);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.typecv.renderer;
+
+import com.typecv.CvFixtures;
+import com.typecv.model.CV;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-entry render cost with a shared render context versus a model rebuilt for
+ * every template invocation (the behaviour before the context was introduced).
+ * <p>
+ * Compare {@code gc.alloc.rate.norm} from the GC profiler to see the bytes
+ * allocated per rendered section.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderContextBenchmark {
+    
+    @Param({"200"})
+    private int entries;
+    
+    private TemplateEngine engine;
+    private CV cv;
+    private RenderContext context;
+    private List<Object> section;
+    
+    @Setup
+    public void setUp() throws Exception {
+        // Interpreted templates: compiled ones never build the FreeMarker model measured here
+        engine = new TemplateEngine(RenderOptions.defaults());
+        cv = CvFixtures.cv(entries);
+        context = engine.createContext(cv);
+        section = cv.cv().sections().get("experience");
+    }
+    
+    @Benchmark
+    public void sharedContext() throws Exception {
+        Writer out = Writer.nullWriter();
+        for (Object entry : section) {
+            engine.renderEntry(entry, context, out);
+        }
+    }
+    
+    @Benchmark
+    public void contextPerEntry() throws Exception {
+        Writer out = Writer.nullWriter();
+        for (Object entry : section) {
+            engine.renderEntry(entry, engine.createContext(cv), out);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.typecv.renderer;
+
+import com.typecv.CvFixtures;
+import com.typecv.model.CV;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of a render: engine creation plus the first render of a small CV
+ * in a fresh JVM, with interpreted FreeMarker templates versus the classes
+ * generated by the {@code compileTemplates} task. Each fork measures one shot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class TemplateStartupBenchmark {
+    
+    private CV cv;
+    
+    @Setup
+    public void setUp() throws Exception {
+        cv = CvFixtures.cv(10);
+    }
+    
+    @Benchmark
+    public String interpreted() throws Exception {
+        return new TemplateEngine().render(cv);
+    }
+    
+    @Benchmark
+    public String compiled() throws Exception {
+        return new TemplateEngine(RenderOptions.defaults().withCompiledTemplates()).render(cv);
+    }
+}
@@ -0,0 +1,69 @@
+package com.typecv.util;
+
+import com.typecv.CvFixtures;
+import com.typecv.model.CV;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap retained per CV when a batch of parsed CVs is held in memory, with and
+ * without sharing equal values between them. Reported as the
+ * {@code retainedBytesPerCv} secondary result; the primary score is the time to
+ * parse the batch. JMH adds up event counters over iterations, hence the single
+ * measured iteration. Run with {@code -jvmArgs -XX:+UseSerialGC} for stable numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 1)
+@Fork(1)
+public class CanonicalHeapBenchmark {
+    
+    @Param({"true", "false"})
+    private boolean canonical;
+    
+    @Param({"1000"})
+    private int cvs;
+    
+    private String yaml;
+    private YamlParser parser;
+    private List<CV> batch;
+    
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Heap {
+        public long retainedBytesPerCv;
+    }
+    
+    @Setup
+    public void setUp() {
+        yaml = CvFixtures.yaml(20);
+        parser = new YamlParser(canonical);
+    }
+    
+    @Benchmark
+    public List<CV> parseBatch(Heap heap) throws IOException {
+        batch = null;
+        long before = usedAfterGc();
+        List<CV> parsed = new ArrayList<>(cvs);
+        for (int i = 0; i < cvs; i++) {
+            parsed.add(parser.parseString(yaml));
+        }
+        heap.retainedBytesPerCv = (usedAfterGc() - before) / cvs;
+        batch = parsed;
+        return parsed;
+    }
+    
+    private static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,85 @@
+package com.typecv.util;
+
+import com.typecv.CvFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a multi-document YAML feed through {@link CvFeed}. The feed is generated
+ * while it is read, so the allocation per record should not depend on the number
+ * of records; run with a small heap ({@code -jvmArgs -Xmx64m}) to see that the
+ * feed never holds more than one record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CvFeedBenchmark {
+    
+    @Param({"100", "10000"})
+    private int records;
+    
+    private byte[] document;
+    
+    @Setup
+    public void setUp() {
+        document = ("---\n" + CvFixtures.yaml(20)).getBytes(StandardCharsets.UTF_8);
+    }
+    
+    @Benchmark
+    public int feed(Blackhole blackhole) throws IOException {
+        int valid = 0;
+        try (CvFeed feed = YamlParser.shared().feed(new RepeatingStream(document, records), CvFeed.Format.YAML)) {
+            while (feed.hasNext()) {
+                CvFeed.Result result = feed.next();
+                blackhole.consume(result.cv());
+                if (result.isValid()) {
+                    valid++;
+                }
+            }
+        }
+        return valid;
+    }
+    
+    /**
+     * The same bytes repeated a number of times, without materialising the whole feed.
+     */
+    private static final class RepeatingStream extends InputStream {
+        private final byte[] data;
+        private int remaining;
+        private int pos;
+        
+        RepeatingStream(byte[] data, int times) {
+            this.data = data;
+            this.remaining = times;
+        }
+        
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+        
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (remaining == 0) {
+                return -1;
+            }
+            int n = Math.min(length, data.length - pos);
+            System.arraycopy(data, pos, buffer, offset, n);
+            pos += n;
+            if (pos == data.length) {
+                pos = 0;
+                remaining--;
+            }
+            return n;
+        }
+    }
+}
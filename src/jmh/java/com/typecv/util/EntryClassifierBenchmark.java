@@ -0,0 +1,131 @@
+package com.typecv.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Deciding the type of every entry in a large mixed section from its keys, as the
+ * token stream delivers them: collecting the keys into a set for the chain of up
+ * to ten lookups versus folding them into an {@link EntryClassifier} mask and one
+ * table lookup. {@code treeChain} is the chain on ready-made {@link JsonNode}s, as
+ * the tree-based parser ran it, without the cost of building the tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntryClassifierBenchmark {
+    
+    /**
+     * Keys of typical entries of each type, ending with one that has only text.
+     */
+    private static final String[][] SHAPES = {
+        {"institution", "area", "degree", "start_date", "end_date", "location", "highlights"},
+        {"company", "position", "start_date", "end_date", "location", "summary", "highlights"},
+        {"name", "date", "summary", "highlights"},
+        {"title", "authors", "journal", "doi", "date"},
+        {"label", "details"},
+        {"bullet"},
+        {"reversed_number"},
+        {"text"},
+    };
+    
+    @Param({"5000"})
+    private int entries;
+    
+    private List<JsonNode> tree;
+    private List<String[]> section;
+    
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        tree = new ArrayList<>();
+        section = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            ObjectNode node = mapper.createObjectNode();
+            String[] keys = new String[SHAPES[i % SHAPES.length].length];
+            for (int k = 0; k < keys.length; k++) {
+                // Parsers hand out their own string per key, not the interned literal
+                keys[k] = new String(SHAPES[i % SHAPES.length][k]);
+                node.put(keys[k], "value " + i);
+            }
+            tree.add(node);
+            section.add(keys);
+        }
+    }
+    
+    @Benchmark
+    public void treeChain(Blackhole blackhole) {
+        for (JsonNode node : tree) {
+            blackhole.consume(chain(node::has));
+        }
+    }
+    
+    @Benchmark
+    public void keySetChain(Blackhole blackhole) {
+        for (String[] keys : section) {
+            Set<String> set = new HashSet<>();
+            for (String key : keys) {
+                set.add(key);
+            }
+            blackhole.consume(chain(set::contains));
+        }
+    }
+    
+    @Benchmark
+    public void bitmask(Blackhole blackhole) {
+        for (String[] keys : section) {
+            int mask = 0;
+            for (String key : keys) {
+                mask |= EntryClassifier.bit(key);
+            }
+            blackhole.consume(EntryClassifier.type(mask));
+        }
+    }
+    
+    /**
+     * The rule chain as parseEntry had it.
+     */
+    private static String chain(Predicate<String> has) {
+        if (has.test("institution")) {
+            return "education";
+        }
+        if (has.test("company")) {
+            return "experience";
+        }
+        if (has.test("name") && !has.test("label")) {
+            return "project";
+        }
+        if (has.test("title")) {
+            return "publication";
+        }
+        if (has.test("label") && has.test("details")) {
+            return "one line";
+        }
+        if (has.test("bullet")) {
+            return "bullet";
+        }
+        if (has.test("number")) {
+            return "numbered";
+        }
+        if (has.test("reversed_number")) {
+            return "reversed numbered";
+        }
+        if (has.test("text")) {
+            return "text";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.typecv.util;
+
+import com.typecv.CvFixtures;
+import com.typecv.model.CV;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state parse throughput of a typical CV with one {@link YamlParser} shared
+ * by all threads versus a new parser (mapper, readers, theme loader) per CV.
+ * Run with {@code -t} set to the number of cores and divide the score by it for
+ * the throughput per core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserReuseBenchmark {
+    
+    @Param({"20"})
+    private int entries;
+    
+    private String yaml;
+    
+    @Setup
+    public void setUp() {
+        yaml = CvFixtures.yaml(entries);
+    }
+    
+    @Benchmark
+    public CV shared() throws IOException {
+        return YamlParser.shared().parseString(yaml);
+    }
+    
+    @Benchmark
+    public CV perParse() throws IOException {
+        return new YamlParser().parseString(yaml);
+    }
+}
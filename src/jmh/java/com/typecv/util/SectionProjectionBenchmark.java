@@ -0,0 +1,56 @@
+package com.typecv.util;
+
+import com.typecv.CvFixtures;
+import com.typecv.model.CV;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a large master CV in full versus with a section projection. Most of the
+ * document is the experience section, so projecting it away shows the cost of
+ * skipping tokens, and keeping only it shows the overhead of the projection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SectionProjectionBenchmark {
+    
+    @Param({"5000"})
+    private int entries;
+    
+    private byte[] yaml;
+    private ParseOptions all;
+    private ParseOptions skillsAndSummary;
+    private ParseOptions experienceOnly;
+    
+    @Setup
+    public void setUp() {
+        yaml = CvFixtures.yaml(entries).getBytes(StandardCharsets.UTF_8);
+        all = ParseOptions.defaults();
+        skillsAndSummary = all.withSections(List.of("skills", "summary"));
+        experienceOnly = all.withSections(List.of("experience"));
+    }
+    
+    @Benchmark
+    public CV full() throws IOException {
+        return YamlParser.shared().parse(new ByteArrayInputStream(yaml), all);
+    }
+    
+    @Benchmark
+    public CV skipExperience() throws IOException {
+        return YamlParser.shared().parse(new ByteArrayInputStream(yaml), skillsAndSummary);
+    }
+    
+    @Benchmark
+    public CV experienceOnly() throws IOException {
+        return YamlParser.shared().parse(new ByteArrayInputStream(yaml), experienceOnly);
+    }
+}
@@ -0,0 +1,61 @@
+package com.typecv.util;
+
+import com.typecv.CvFixtures;
+import com.typecv.model.CV;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Parsing a YAML file that was parsed before: a full parse with the shared parser
+ * versus a warm {@link SnapshotCache} hit (hash the file, read and decode the snapshot).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnapshotCacheBenchmark {
+    
+    @Param({"20", "2000"})
+    private int entries;
+    
+    private Path dir;
+    private File yaml;
+    private SnapshotCache cache;
+    
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("typecv-snapshot-bench");
+        yaml = dir.resolve("cv.yaml").toFile();
+        Files.writeString(yaml.toPath(), CvFixtures.yaml(entries));
+        cache = new SnapshotCache(YamlParser.shared(), dir.resolve("cache"), SnapshotCache.DEFAULT_MAX_BYTES, "bench");
+        cache.parse(yaml);
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+    
+    @Benchmark
+    public CV parse() throws IOException {
+        return YamlParser.shared().parse(yaml);
+    }
+    
+    @Benchmark
+    public CV snapshot() throws IOException {
+        return cache.parse(yaml);
+    }
+}
@@ -0,0 +1,116 @@
+package com.typecv.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typecv.CvFixtures;
+import com.typecv.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a CV document with {@link YamlParser}, which binds records straight from
+ * the token stream, versus the former approach of reading the whole document into
+ * a {@link JsonNode} tree and converting each entry with {@code treeToValue}.
+ * Run with {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YamlParseBenchmark {
+    
+    @Param({"10", "2000"})
+    private int entries;
+    
+    private String yaml;
+    private YamlParser parser;
+    
+    @Setup
+    public void setUp() {
+        yaml = CvFixtures.yaml(entries);
+        parser = new YamlParser();
+    }
+    
+    @Benchmark
+    public CV streaming() throws IOException {
+        return parser.parseString(yaml);
+    }
+    
+    @Benchmark
+    public CV tree() throws IOException {
+        return parseTree(parser.getMapper(), parser.getMapper().readTree(yaml));
+    }
+    
+    /**
+     * The tree-based parse as it was, minus theme loading, which both paths share.
+     */
+    private static CV parseTree(ObjectMapper mapper, JsonNode root) throws IOException {
+        JsonNode cvNode = root.get("cv");
+        List<SocialNetwork> socialNetworks = new ArrayList<>();
+        for (JsonNode network : cvNode.path("social_networks")) {
+            socialNetworks.add(mapper.treeToValue(network, SocialNetwork.class));
+        }
+        Map<String, List<Object>> sections = new LinkedHashMap<>();
+        JsonNode sectionsNode = cvNode.get("sections");
+        for (var fields = sectionsNode.fields(); fields.hasNext(); ) {
+            var section = fields.next();
+            List<Object> list = new ArrayList<>();
+            for (JsonNode entry : section.getValue()) {
+                list.add(parseEntry(mapper, entry));
+            }
+            sections.put(section.getKey(), list);
+        }
+        CvData cvData = new CvData(text(cvNode, "name"), text(cvNode, "headline"), text(cvNode, "location"),
+            text(cvNode, "email"), text(cvNode, "photo"), text(cvNode, "phone"), text(cvNode, "website"),
+            socialNetworks, sections);
+        Design design = root.has("design") ? mapper.treeToValue(root.get("design"), Design.class) : null;
+        Locale locale = root.has("locale") ? mapper.treeToValue(root.get("locale"), Locale.class) : null;
+        return new CV(cvData, design, locale);
+    }
+    
+    private static Entry parseEntry(ObjectMapper mapper, JsonNode node) throws IOException {
+        if (node.isTextual()) {
+            return new TextEntry(node.asText());
+        }
+        if (node.has("institution")) {
+            return mapper.treeToValue(node, EducationEntry.class);
+        }
+        if (node.has("company")) {
+            return mapper.treeToValue(node, ExperienceEntry.class);
+        }
+        if (node.has("name") && !node.has("label")) {
+            return mapper.treeToValue(node, ProjectEntry.class);
+        }
+        if (node.has("title")) {
+            return mapper.treeToValue(node, PublicationEntry.class);
+        }
+        if (node.has("label") && node.has("details")) {
+            return mapper.treeToValue(node, OneLineEntry.class);
+        }
+        if (node.has("bullet")) {
+            return mapper.treeToValue(node, BulletEntry.class);
+        }
+        if (node.has("number")) {
+            return mapper.treeToValue(node, NumberedEntry.class);
+        }
+        if (node.has("reversed_number")) {
+            return mapper.treeToValue(node, ReversedNumberedEntry.class);
+        }
+        if (node.has("text")) {
+            return new TextEntry(node.get("text").asText());
+        }
+        return new TextEntry(node.toString());
+    }
+    
+    private static String text(JsonNode node, String field) {
+        return node.has(field) && !node.get(field).isNull() ? node.get(field).asText() : null;
+    }
+}
@@ -2,6 +2,7 @@ package com.typecv;
 
 import com.typecv.command.NewCommand;
 import com.typecv.command.RenderCommand;
+import com.typecv.command.WatchCommand;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 
@@ -12,13 +13,16 @@ import picocli.CommandLine.Command;
     description = "A Java-based CV/Resume generator using Typst",
     subcommands = {
         NewCommand.class,
-        RenderCommand.class
+        RenderCommand.class,
+        WatchCommand.class
     }
 )
 public class TypeCV implements Runnable {
 
     public static void main(String[] args) {
-        int exitCode = new CommandLine(new TypeCV()).execute(args);
+        int exitCode = new CommandLine(new TypeCV())
+            .setCaseInsensitiveEnumValuesAllowed(true)
+            .execute(args);
         System.exit(exitCode);
     }
 
@@ -29,6 +33,7 @@ public class TypeCV implements Runnable {
         System.out.println("Commands:");
         System.out.println("  new <name>       Create a new CV YAML file with sample content");
         System.out.println("  render <file>    Render a CV YAML file to PDF");
+        System.out.println("  watch <file>     Re-render the PDF whenever the YAML file changes");
         System.out.println();
         System.out.println("Use 'typecv <command> --help' for more information on a command.");
         System.out.println("Use 'typecv --help' for all options.");
@@ -1,28 +1,66 @@
 package com.typecv.command;
 
 import com.typecv.model.CV;
+import com.typecv.renderer.CompileResult;
+import com.typecv.renderer.FontIndex;
+import com.typecv.renderer.OutputFormat;
+import com.typecv.renderer.PdfCache;
 import com.typecv.renderer.TemplateEngine;
+import com.typecv.renderer.TypstDiagnostic;
 import com.typecv.renderer.TypstRunner;
+import com.typecv.util.ParseOptions;
+import com.typecv.util.SnapshotCache;
 import com.typecv.util.YamlParser;
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @Command(
     name = "render",
     mixinStandardHelpOptions = true,
-    description = "Render a CV YAML file to PDF"
+    description = "Render a CV YAML file to PDF and page images"
 )
 public class RenderCommand implements Callable<Integer> {
 
     @Parameters(index = "0", description = "Path to the CV YAML file")
     private File yamlFile;
 
+    @Option(names = "--no-cache", description = "Always parse the YAML and run Typst instead of reusing a previous parse or compiled PDF")
+    private boolean noCache;
+
+    @Option(names = "--system-fonts", description = "Let Typst search all installed fonts instead of the pre-indexed theme fonts")
+    private boolean systemFonts;
+
+    @Option(names = "--format", split = ",", defaultValue = "pdf",
+        description = "Output formats, comma separated: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}); png and svg write one numbered file per page")
+    private Set<OutputFormat> formats;
+
+    @Option(names = "--sections", split = ",", paramLabel = "NAME",
+        description = "Render only these sections, in this order, comma separated; * stands for the other sections in file order")
+    private List<String> sections;
+
+    @Option(names = "--ppi", defaultValue = "144", description = "Pixels per inch of PNG pages (default: ${DEFAULT-VALUE})")
+    private int ppi;
+
     @Override
     public Integer call() {
         if (!yamlFile.exists()) {
@@ -38,31 +76,82 @@ public class RenderCommand implements Callable<Integer> {
         try {
             // Parse the YAML file
             System.out.println("Reading: " + yamlFile.getName());
-            YamlParser parser = new YamlParser();
-            CV cv = parser.parse(yamlFile);
+            ParseOptions options = ParseOptions.defaults().withSections(sections);
+            CV cv = noCache
+                ? YamlParser.shared().parse(yamlFile, options)
+                : SnapshotCache.openDefault().parse(yamlFile, options);
             
-            // Render to Typst
+            // Render to Typst, streaming straight into the .typ file
             System.out.println("Generating Typst...");
-            TemplateEngine engine = new TemplateEngine();
-            String typstContent = engine.render(cv);
-            
-            // Write the .typ file
+            TemplateEngine engine = TemplateEngine.shared();
             String baseName = yamlFile.getName().replaceAll("\\.(yaml|yml)$", "");
             Path typstFile = Path.of(baseName + ".typ");
-            Files.writeString(typstFile, typstContent, StandardCharsets.UTF_8);
+            try (Writer writer = Files.newBufferedWriter(typstFile, StandardCharsets.UTF_8)) {
+                engine.render(cv, writer);
+            }
             System.out.println("Created: " + typstFile.getFileName());
             
-            // Compile to PDF
-            System.out.println("Compiling PDF...");
-            Path pdfFile = Path.of(baseName + ".pdf");
+            // Compile every requested format from the same Typst file, in parallel
+            System.out.println("Compiling " + formatNames() + "...");
             
             TypstRunner runner = new TypstRunner();
-            runner.initialize();
-            runner.compile(typstFile, pdfFile);
+            PdfCache cache = noCache ? null : PdfCache.openDefault();
+            runner.setPdfCache(cache);
+            if (!systemFonts) {
+                Path fontDir = FontIndex.openDefault().prepare(cv.design());
+                if (fontDir == null && System.getProperty("typecv.debug") != null) {
+                    System.err.println("A theme font is not installed; Typst will search the system fonts");
+                }
+                runner.setFontDir(fontDir);
+            }
+            List<Path> assets = cv.cv().photo() == null
+                ? List.of()
+                : List.of(typstFile.toAbsolutePath().getParent().resolve(cv.cv().photo()));
             
-            System.out.println("Created: " + pdfFile.getFileName());
+            Map<OutputFormat, CompletableFuture<CompileResult>> jobs = new EnumMap<>(OutputFormat.class);
+            for (OutputFormat format : formats) {
+                if (format == OutputFormat.PDF) {
+                    jobs.put(format, runner.compileAsync(typstFile, Path.of(baseName + ".pdf"), assets,
+                        TypstRunner.DEFAULT_DEADLINE));
+                } else {
+                    // Stale pages of a longer version would otherwise look like part of the set
+                    for (Path page : pages(baseName, format)) {
+                        Files.delete(page);
+                    }
+                    jobs.put(format, runner.compileAsync(typstFile, Path.of(baseName + "-{p}." + format.extension()),
+                        format, ppi, TypstRunner.DEFAULT_DEADLINE));
+                }
+            }
+            
+            Path ready = null;
+            Set<TypstDiagnostic> reported = new HashSet<>();
+            for (OutputFormat format : formats) {
+                CompileResult result = TypstRunner.await(jobs.get(format));
+                // Every format compiles the same source, so Typst repeats its warnings
+                for (TypstDiagnostic diagnostic : result.diagnostics()) {
+                    if (reported.add(diagnostic)) {
+                        System.err.println(diagnostic);
+                    }
+                }
+                String took = result.elapsed().toMillis() + " ms";
+                if (format == OutputFormat.PDF) {
+                    Path pdfFile = Path.of(baseName + ".pdf");
+                    if (cache != null && cache.hits() > 0) {
+                        took = "reused cached PDF, " + cache.bytesSaved() + " bytes";
+                    }
+                    System.out.println("Created: " + pdfFile + " (" + took + ")");
+                    ready = pdfFile;
+                } else {
+                    List<Path> pages = pages(baseName, format);
+                    System.out.println("Created: " + pages.size() + " " + format.name() + " pages "
+                        + baseName + "-1.." + pages.size() + "." + format.extension() + " (" + took + ")");
+                    if (ready == null && !pages.isEmpty()) {
+                        ready = pages.get(0);
+                    }
+                }
+            }
             System.out.println();
-            System.out.println("Done! Your CV is ready: " + pdfFile);
+            System.out.println("Done! Your CV is ready: " + ready);
             
             // Optionally delete the intermediate .typ file
             // Files.deleteIfExists(typstFile);
@@ -77,4 +166,29 @@ public class RenderCommand implements Callable<Integer> {
             return 1;
         }
     }
+
+    private String formatNames() {
+        StringJoiner names = new StringJoiner(", ");
+        for (OutputFormat format : formats) {
+            names.add(format.name());
+        }
+        return names.toString();
+    }
+
+    /**
+     * Find the page files of a format, such as {@code cv-1.png}, in page order.
+     */
+    private static List<Path> pages(String baseName, OutputFormat format) throws IOException {
+        Pattern page = Pattern.compile(Pattern.quote(baseName) + "-(\\d+)\\." + format.extension());
+        try (Stream<Path> files = Files.list(Path.of(""))) {
+            return files
+                .filter(file -> page.matcher(file.getFileName().toString()).matches())
+                .sorted(Comparator.comparingInt(file -> {
+                    Matcher matcher = page.matcher(file.getFileName().toString());
+                    matcher.matches();
+                    return Integer.parseInt(matcher.group(1));
+                }))
+                .toList();
+        }
+    }
 }
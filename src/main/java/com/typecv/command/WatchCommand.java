@@ -0,0 +1,157 @@
+package com.typecv.command;
+
+import com.typecv.model.CV;
+import com.typecv.renderer.RenderOptions;
+import com.typecv.renderer.TemplateEngine;
+import com.typecv.renderer.TypstRunner;
+import com.typecv.util.YamlParser;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+@Command(
+    name = "watch",
+    mixinStandardHelpOptions = true,
+    description = "Re-render a CV YAML file to PDF whenever it changes"
+)
+public class WatchCommand implements Callable<Integer> {
+
+    @Parameters(index = "0", description = "Path to the CV YAML file")
+    private File yamlFile;
+
+    @Option(names = "--debounce", defaultValue = "150",
+        description = "Milliseconds to wait for further changes before re-rendering (default: ${DEFAULT-VALUE})")
+    private long debounceMillis;
+
+    // Kept for the whole session once watching starts; picocli instantiates every
+    // subcommand, so the engine and parser are only set up when this one runs
+    private TemplateEngine engine;
+    private YamlParser parser;
+
+    @Override
+    public Integer call() {
+        if (!yamlFile.exists()) {
+            System.err.println("Error: File not found: " + yamlFile.getAbsolutePath());
+            return 1;
+        }
+
+        if (!yamlFile.getName().endsWith(".yaml") && !yamlFile.getName().endsWith(".yml")) {
+            System.err.println("Error: File must be a YAML file (.yaml or .yml)");
+            return 1;
+        }
+
+        Path yamlPath = yamlFile.toPath().toAbsolutePath();
+        String baseName = yamlFile.getName().replaceAll("\\.(yaml|yml)$", "");
+        Path typstFile = Path.of(baseName + ".typ");
+        Path pdfFile = Path.of(baseName + ".pdf");
+        
+        // Compiled templates plus a fragment cache, so an edit only re-renders the entries that changed
+        engine = new TemplateEngine(RenderOptions.defaults().withCompiledTemplates().withFragmentCache(4096));
+        parser = YamlParser.shared();
+        
+        Process typst = null;
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            // Watch the directory: editors often replace the file instead of writing it in place
+            yamlPath.getParent().register(watcher,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            
+            if (!renderTypst(yamlPath, typstFile)) {
+                return 1;
+            }
+            
+            // One long-lived Typst process recompiles the PDF whenever the .typ file changes
+            TypstRunner runner = new TypstRunner();
+            runner.initialize();
+            typst = runner.watch(typstFile, pdfFile);
+            Process child = typst;
+            Runtime.getRuntime().addShutdownHook(new Thread(child::destroy));
+            
+            System.out.println("Watching " + yamlFile.getName() + " (Ctrl+C to stop)");
+            while (typst.isAlive()) {
+                WatchKey key = watcher.poll(1, TimeUnit.SECONDS);
+                if (key == null) {
+                    continue;
+                }
+                boolean changed = touchesFile(key, yamlPath);
+                // Debounce: editors emit several events per save, wait until they stop
+                WatchKey next;
+                while ((next = watcher.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= touchesFile(next, yamlPath);
+                }
+                if (changed) {
+                    renderTypst(yamlPath, typstFile);
+                }
+            }
+            
+            System.err.println("Error: Typst watcher exited with code " + typst.exitValue());
+            return 1;
+            
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (Exception e) {
+            System.err.println("Error watching CV: " + e.getMessage());
+            if (System.getProperty("typecv.debug") != null) {
+                e.printStackTrace();
+            }
+            return 1;
+        } finally {
+            if (typst != null) {
+                typst.destroy();
+            }
+        }
+    }
+    
+    /**
+     * Consume the events of a key and report whether any of them concern the YAML file.
+     */
+    private static boolean touchesFile(WatchKey key, Path yamlPath) {
+        boolean touched = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (yamlPath.getFileName().equals(event.context())) {
+                touched = true;
+            }
+        }
+        key.reset();
+        return touched;
+    }
+    
+    /**
+     * Parse and render the CV, writing the .typ file only when its content changed
+     * so Typst does not recompile for edits that render the same.
+     * Errors are reported and the previous output is kept.
+     */
+    private boolean renderTypst(Path yamlPath, Path typstFile) {
+        long start = System.nanoTime();
+        try {
+            CV cv = parser.parse(yamlPath.toFile());
+            String typst = engine.render(cv);
+            if (Files.exists(typstFile) && Files.readString(typstFile, StandardCharsets.UTF_8).equals(typst)) {
+                return true;
+            }
+            Files.writeString(typstFile, typst, StandardCharsets.UTF_8);
+            System.out.printf("Updated %s in %d ms%n", typstFile.getFileName(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return true;
+        } catch (Exception e) {
+            System.err.println("Error rendering CV: " + e.getMessage());
+            if (System.getProperty("typecv.debug") != null) {
+                e.printStackTrace();
+            }
+        }
+        return false;
+    }
+}
@@ -17,21 +17,23 @@ public record Design(
     Entries entries
 ) {
     
+    private static final Design DEFAULTS = new Design(
+        "classic",
+        Page.defaults(),
+        Colors.defaults(),
+        Typography.defaults(),
+        Links.defaults(),
+        Header.defaults(),
+        SectionTitles.defaults(),
+        Sections.defaults(),
+        Entries.defaults()
+    );
+    
     /**
-     * Create default design settings for the classic theme.
+     * Get the default design settings for the classic theme, one shared instance.
      */
     public static Design defaults() {
-        return new Design(
-            "classic",
-            Page.defaults(),
-            Colors.defaults(),
-            Typography.defaults(),
-            Links.defaults(),
-            Header.defaults(),
-            SectionTitles.defaults(),
-            Sections.defaults(),
-            Entries.defaults()
-        );
+        return DEFAULTS;
     }
     
     /**
@@ -64,8 +66,10 @@ public record Design(
         @JsonProperty("show_footer") Boolean showFooter,
         @JsonProperty("show_top_note") Boolean showTopNote
     ) {
+        private static final Page DEFAULTS = new Page("us-letter", "0.7in", "0.7in", "0.7in", "0.7in", true, false);
+        
         public static Page defaults() {
-            return new Page("us-letter", "0.7in", "0.7in", "0.7in", "0.7in", true, false);
+            return DEFAULTS;
         }
         
         public Page mergeWith(Page other) {
@@ -95,17 +99,19 @@ public record Design(
         String footer,
         @JsonProperty("top_note") String topNote
     ) {
+        private static final Colors DEFAULTS = new Colors(
+            "rgb(0, 0, 0)",      // body
+            "rgb(0, 79, 144)",   // name (blue)
+            "rgb(0, 79, 144)",   // headline
+            "rgb(0, 79, 144)",   // connections
+            "rgb(0, 79, 144)",   // sectionTitles
+            "rgb(0, 79, 144)",   // links
+            "rgb(128, 128, 128)", // footer
+            "rgb(128, 128, 128)"  // topNote
+        );
+        
         public static Colors defaults() {
-            return new Colors(
-                "rgb(0, 0, 0)",      // body
-                "rgb(0, 79, 144)",   // name (blue)
-                "rgb(0, 79, 144)",   // headline
-                "rgb(0, 79, 144)",   // connections
-                "rgb(0, 79, 144)",   // sectionTitles
-                "rgb(0, 79, 144)",   // links
-                "rgb(128, 128, 128)", // footer
-                "rgb(128, 128, 128)"  // topNote
-            );
+            return DEFAULTS;
         }
         
         public Colors mergeWith(Colors other) {
@@ -135,16 +141,18 @@ public record Design(
         @JsonProperty("small_caps") SmallCaps smallCaps,
         Bold bold
     ) {
+        private static final Typography DEFAULTS = new Typography(
+            FontFamily.defaults(),
+            FontSize.defaults(),
+            "0.6em",
+            "justified",
+            "right",
+            SmallCaps.defaults(),
+            Bold.defaults()
+        );
+        
         public static Typography defaults() {
-            return new Typography(
-                FontFamily.defaults(),
-                FontSize.defaults(),
-                "0.6em",
-                "justified",
-                "right",
-                SmallCaps.defaults(),
-                Bold.defaults()
-            );
+            return DEFAULTS;
         }
         
         public Typography mergeWith(Typography other) {
@@ -171,14 +179,16 @@ public record Design(
         String connections,
         @JsonProperty("section_titles") String sectionTitles
     ) {
+        private static final FontFamily DEFAULTS = new FontFamily(
+            "Arial",
+            "Arial",
+            "Arial",
+            "Arial",
+            "Arial"
+        );
+        
         public static FontFamily defaults() {
-            return new FontFamily(
-                "Arial",
-                "Arial",
-                "Arial",
-                "Arial",
-                "Arial"
-            );
+            return DEFAULTS;
         }
         
         public FontFamily mergeWith(FontFamily other) {
@@ -203,8 +213,10 @@ public record Design(
         String connections,
         @JsonProperty("section_titles") String sectionTitles
     ) {
+        private static final FontSize DEFAULTS = new FontSize("10pt", "30pt", "10pt", "10pt", "1.4em");
+        
         public static FontSize defaults() {
-            return new FontSize("10pt", "30pt", "10pt", "10pt", "1.4em");
+            return DEFAULTS;
         }
         
         public FontSize mergeWith(FontSize other) {
@@ -228,8 +240,10 @@ public record Design(
         Boolean connections,
         @JsonProperty("section_titles") Boolean sectionTitles
     ) {
+        private static final SmallCaps DEFAULTS = new SmallCaps(false, false, false, false);
+        
         public static SmallCaps defaults() {
-            return new SmallCaps(false, false, false, false);
+            return DEFAULTS;
         }
         
         public SmallCaps mergeWith(SmallCaps other) {
@@ -252,8 +266,10 @@ public record Design(
         Boolean connections,
         @JsonProperty("section_titles") Boolean sectionTitles
     ) {
+        private static final Bold DEFAULTS = new Bold(true, false, false, true);
+        
         public static Bold defaults() {
-            return new Bold(true, false, false, true);
+            return DEFAULTS;
         }
         
         public Bold mergeWith(Bold other) {
@@ -274,8 +290,10 @@ public record Design(
         Boolean underline,
         @JsonProperty("show_external_link_icon") Boolean showExternalLinkIcon
     ) {
+        private static final Links DEFAULTS = new Links(false, false);
+        
         public static Links defaults() {
-            return new Links(false, false);
+            return DEFAULTS;
         }
         
         public Links mergeWith(Links other) {
@@ -299,16 +317,18 @@ public record Design(
         @JsonProperty("space_below_connections") String spaceBelowConnections,
         Connections connections
     ) {
+        private static final Header DEFAULTS = new Header(
+            "center",
+            "3.5cm",
+            "left",
+            "0.7cm",
+            "0.7cm",
+            "0.7cm",
+            Connections.defaults()
+        );
+        
         public static Header defaults() {
-            return new Header(
-                "center",
-                "3.5cm",
-                "left",
-                "0.7cm",
-                "0.7cm",
-                "0.7cm",
-                Connections.defaults()
-            );
+            return DEFAULTS;
         }
         
         public Header mergeWith(Header other) {
@@ -336,8 +356,10 @@ public record Design(
         String separator,
         @JsonProperty("space_between_connections") String spaceBetweenConnections
     ) {
+        private static final Connections DEFAULTS = new Connections("national", true, true, false, "", "0.5cm");
+        
         public static Connections defaults() {
-            return new Connections("national", true, true, false, "", "0.5cm");
+            return DEFAULTS;
         }
         
         public Connections mergeWith(Connections other) {
@@ -362,8 +384,10 @@ public record Design(
         @JsonProperty("space_above") String spaceAbove,
         @JsonProperty("space_below") String spaceBelow
     ) {
+        private static final SectionTitles DEFAULTS = new SectionTitles("with_partial_line", "0.5pt", "0.5cm", "0.3cm");
+        
         public static SectionTitles defaults() {
-            return new SectionTitles("with_partial_line", "0.5pt", "0.5cm", "0.3cm");
+            return DEFAULTS;
         }
         
         public SectionTitles mergeWith(SectionTitles other) {
@@ -385,8 +409,10 @@ public record Design(
         @JsonProperty("space_between_regular_entries") String spaceBetweenRegularEntries,
         @JsonProperty("space_between_text_based_entries") String spaceBetweenTextBasedEntries
     ) {
+        private static final Sections DEFAULTS = new Sections(true, "1.2em", "0.3em");
+        
         public static Sections defaults() {
-            return new Sections(true, "1.2em", "0.3em");
+            return DEFAULTS;
         }
         
         public Sections mergeWith(Sections other) {
@@ -411,16 +437,18 @@ public record Design(
         Summary summary,
         Highlights highlights
     ) {
+        private static final Entries DEFAULTS = new Entries(
+            "4.15cm",
+            "0.2cm",
+            "0.1cm",
+            false,
+            true,
+            Summary.defaults(),
+            Highlights.defaults()
+        );
+        
         public static Entries defaults() {
-            return new Entries(
-                "4.15cm",
-                "0.2cm",
-                "0.1cm",
-                false,
-                true,
-                Summary.defaults(),
-                Highlights.defaults()
-            );
+            return DEFAULTS;
         }
         
         public Entries mergeWith(Entries other) {
@@ -444,8 +472,10 @@ public record Design(
         @JsonProperty("space_above") String spaceAbove,
         @JsonProperty("space_left") String spaceLeft
     ) {
+        private static final Summary DEFAULTS = new Summary("0cm", "0cm");
+        
         public static Summary defaults() {
-            return new Summary("0cm", "0cm");
+            return DEFAULTS;
         }
         
         public Summary mergeWith(Summary other) {
@@ -468,8 +498,10 @@ public record Design(
         @JsonProperty("space_between_items") String spaceBetweenItems,
         @JsonProperty("space_between_bullet_and_text") String spaceBetweenBulletAndText
     ) {
+        private static final Highlights DEFAULTS = new Highlights("•", "•", "0.15cm", "0cm", "0cm", "0.5em");
+        
         public static Highlights defaults() {
-            return new Highlights("•", "•", "0.15cm", "0cm", "0cm", "0.5em");
+            return DEFAULTS;
         }
         
         public Highlights mergeWith(Highlights other) {
@@ -19,20 +19,22 @@ public record Locale(
     @JsonProperty("month_names") List<String> monthNames
 ) {
     
+    private static final Locale DEFAULTS = new Locale(
+        "english",
+        "Last updated in",
+        "month",
+        "months",
+        "year",
+        "years",
+        "present",
+        List.of("Jan", "Feb", "Mar", "Apr", "May", "June", "July", "Aug", "Sept", "Oct", "Nov", "Dec"),
+        List.of("January", "February", "March", "April", "May", "June", "July", "August", "September", "October", "November", "December")
+    );
+    
     /**
-     * Create default English locale.
+     * Get the default English locale, one shared instance.
      */
     public static Locale defaults() {
-        return new Locale(
-            "english",
-            "Last updated in",
-            "month",
-            "months",
-            "year",
-            "years",
-            "present",
-            List.of("Jan", "Feb", "Mar", "Apr", "May", "June", "July", "Aug", "Sept", "Oct", "Nov", "Dec"),
-            List.of("January", "February", "March", "April", "May", "June", "July", "August", "September", "October", "November", "December")
-        );
+        return DEFAULTS;
     }
 }
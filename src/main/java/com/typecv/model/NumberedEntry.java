@@ -0,0 +1,9 @@
+package com.typecv.model;
+
+/**
+ * Numbered entry for sections rendered as a list counting up from 1.
+ */
+public record NumberedEntry(
+    String number
+) implements Entry {
+}
@@ -0,0 +1,10 @@
+package com.typecv.model;
+
+/**
+ * One-line entry for label and details pairs, like "Languages: Java, Python".
+ */
+public record OneLineEntry(
+    String label,
+    String details
+) implements Entry {
+}
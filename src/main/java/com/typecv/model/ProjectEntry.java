@@ -0,0 +1,18 @@
+package com.typecv.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * Project entry for CV sections like "projects".
+ */
+public record ProjectEntry(
+    String name,
+    String date,
+    @JsonProperty("start_date") String startDate,
+    @JsonProperty("end_date") String endDate,
+    String location,
+    String summary,
+    List<String> highlights
+) implements Entry {
+}
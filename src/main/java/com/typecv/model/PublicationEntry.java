@@ -0,0 +1,17 @@
+package com.typecv.model;
+
+import java.util.List;
+
+/**
+ * Publication entry for CV sections like "publications".
+ * The doi takes precedence over the url as the link target.
+ */
+public record PublicationEntry(
+    String title,
+    List<String> authors,
+    String doi,
+    String url,
+    String journal,
+    String date
+) implements Entry {
+}
@@ -0,0 +1,12 @@
+package com.typecv.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Numbered entry for sections rendered as a list counting down to 1, so the
+ * most recent item keeps the highest number.
+ */
+public record ReversedNumberedEntry(
+    @JsonProperty("reversed_number") String reversedNumber
+) implements Entry {
+}
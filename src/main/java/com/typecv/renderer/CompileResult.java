@@ -0,0 +1,34 @@
+package com.typecv.renderer;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of one Typst compilation.
+ */
+public record CompileResult(
+    int exitCode,
+    List<TypstDiagnostic> diagnostics,
+    Duration elapsed
+) {
+    
+    public CompileResult {
+        diagnostics = List.copyOf(diagnostics);
+    }
+    
+    /**
+     * Check whether Typst exited successfully.
+     */
+    public boolean success() {
+        return exitCode == 0;
+    }
+    
+    /**
+     * Get only the error diagnostics.
+     */
+    public List<TypstDiagnostic> errors() {
+        return diagnostics.stream()
+            .filter(d -> d.severity() == TypstDiagnostic.Severity.ERROR)
+            .toList();
+    }
+}
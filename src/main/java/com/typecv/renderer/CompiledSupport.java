@@ -0,0 +1,71 @@
+package com.typecv.renderer;
+
+import freemarker.core.Environment;
+import freemarker.template.TemplateException;
+
+import java.util.Collection;
+import java.util.StringJoiner;
+
+/**
+ * Runtime helpers called by the template classes generated at build time.
+ * <p>
+ * Each helper matches the FreeMarker construct it replaces, including failing
+ * on a missing value where FreeMarker would.
+ */
+final class CompiledSupport {
+    
+    private CompiledSupport() {
+    }
+    
+    /**
+     * Text of an interpolation ({@code ${expression}}).
+     */
+    static String text(Object value, String expression) throws TemplateException {
+        if (value == null) {
+            throw new TemplateException("The following has evaluated to null or missing: " + expression,
+                (Environment) null);
+        }
+        return value.toString();
+    }
+    
+    /**
+     * The {@code value!fallback} operator.
+     */
+    static Object orDefault(Object value, Object fallback) {
+        return value != null ? value : fallback;
+    }
+    
+    /**
+     * The {@code ?size} built-in.
+     */
+    static int size(Collection<?> value) {
+        return value.size();
+    }
+    
+    /**
+     * The {@code ?join(separator)} built-in, which skips null items.
+     */
+    static String join(Collection<?> value, String separator) {
+        StringJoiner joined = new StringJoiner(separator);
+        for (Object item : value) {
+            if (item != null) {
+                joined.add(item.toString());
+            }
+        }
+        return joined.toString();
+    }
+    
+    /**
+     * The {@code ?replace(target, replacement)} built-in.
+     */
+    static String replace(String value, String target, String replacement) {
+        return value.replace(target, replacement);
+    }
+    
+    /**
+     * The {@code escapeTypst(text)} method, which renders a missing value as empty text.
+     */
+    static String escape(Object value) {
+        return value == null ? "" : TemplateEngine.escapeTypst(value.toString());
+    }
+}
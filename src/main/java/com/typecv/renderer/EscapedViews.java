@@ -0,0 +1,113 @@
+package com.typecv.renderer;
+
+import com.typecv.model.CvData;
+import com.typecv.util.RecordShape;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Typst-escaped copies of model records for use in templates.
+ * <p>
+ * An escaped view has the same type as the original record with every text
+ * component passed through {@link TemplateEngine#escapeTypst(String)}, so templates
+ * can print accessors directly. Components that hold link targets ("url", "doi")
+ * are kept as is. Entry views are computed once per distinct record and cached,
+ * which means rendering the same parsed CV again does no escaping work. The cache
+ * is keyed by record value and holds its keys weakly.
+ */
+final class EscapedViews {
+    
+    /** Record components used inside Typst link strings, which must not be escaped. */
+    private static final Set<String> LINK_COMPONENTS = Set.of("url", "doi");
+    
+    /** Cache value for records that contain nothing to escape. */
+    private static final Object UNCHANGED = new Object();
+    
+    private static final Map<Object, Object> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+    
+    /** Which components of a record type are link targets, in declaration order. */
+    private static final ClassValue<boolean[]> LINKS = new ClassValue<>() {
+        @Override
+        protected boolean[] computeValue(Class<?> type) {
+            RecordShape shape = RecordShape.of(type);
+            boolean[] link = new boolean[shape.size()];
+            for (int i = 0; i < link.length; i++) {
+                link[i] = LINK_COMPONENTS.contains(shape.name(i));
+            }
+            return link;
+        }
+    };
+    
+    private EscapedViews() {
+    }
+    
+    /**
+     * Get the escaped view of a CV entry. Objects that are not records are returned as is.
+     */
+    static Object entry(Object entry) {
+        if (!(entry instanceof Record)) {
+            return entry;
+        }
+        Object view = CACHE.get(entry);
+        if (view == null) {
+            Object escaped = escapeRecord(entry);
+            // Never store the key as its own value, it would keep the entry alive forever
+            view = escaped.equals(entry) ? UNCHANGED : escaped;
+            CACHE.put(entry, view);
+        }
+        return view == UNCHANGED ? entry : view;
+    }
+    
+    /**
+     * Get the escaped view of the CV header data.
+     * Only display text is escaped; the website and photo are link targets and
+     * social networks build their own URLs, so those are kept as is. The header
+     * fields are escaped on every call rather than cached, since a cache keyed by
+     * the CV data would hash every section to look up five short strings.
+     */
+    static CvData cvData(CvData cv) {
+        String name = TemplateEngine.escapeTypst(cv.name());
+        String headline = TemplateEngine.escapeTypst(cv.headline());
+        String location = TemplateEngine.escapeTypst(cv.location());
+        String email = TemplateEngine.escapeTypst(cv.email());
+        String phone = TemplateEngine.escapeTypst(cv.phone());
+        // escapeTypst returns the same instance when there is nothing to escape
+        if (name == cv.name() && headline == cv.headline() && location == cv.location()
+                && email == cv.email() && phone == cv.phone()) {
+            return cv;
+        }
+        return new CvData(name, headline, location, email, cv.photo(), phone, cv.website(),
+            cv.socialNetworks(), cv.sections());
+    }
+    
+    private static Object escapeRecord(Object record) {
+        RecordShape shape = RecordShape.of(record.getClass());
+        boolean[] link = LINKS.get(record.getClass());
+        Object[] values = shape.values(record);
+        for (int i = 0; i < values.length; i++) {
+            if (!link[i]) {
+                values[i] = escapeValue(values[i]);
+            }
+        }
+        return shape.create(values);
+    }
+    
+    private static Object escapeValue(Object value) {
+        if (value instanceof String text) {
+            return TemplateEngine.escapeTypst(text);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> escaped = new ArrayList<>(list.size());
+            for (Object item : list) {
+                escaped.add(item instanceof String text ? TemplateEngine.escapeTypst(text) : item);
+            }
+            return Collections.unmodifiableList(escaped);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,437 @@
+package com.typecv.renderer;
+
+import com.typecv.model.Design;
+import com.typecv.theme.ThemeLoader;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Private font directory holding only the system fonts the themes use, so Typst
+ * can be started with {@code --font-path} and {@code --ignore-system-fonts}
+ * instead of scanning every installed font on each compilation.
+ * <p>
+ * The directory is built once from the font families of the built-in themes plus
+ * any family a CV asks for, and described by {@code index.properties}. Warm runs
+ * read the index and compare the modification times of the system font
+ * directories (and their immediate subdirectories, where packages install
+ * fonts); a change or an unknown family triggers a rebuild under a file lock.
+ * Font files are linked into the directory, or copied where links are not
+ * supported.
+ * <p>
+ * A rebuild writes a new {@code fonts-*} directory, because another process may
+ * still be compiling against the old one. Each {@link #prepare} marks the
+ * directory it returns as used, and directories are deleted only once they have
+ * gone unused for {@link #STALE_AFTER}.
+ * <p>
+ * Typst started this way no longer falls back to other installed fonts for
+ * characters the theme fonts lack (CJK names, for example); such CVs need
+ * {@code --system-fonts}.
+ */
+public class FontIndex {
+    
+    /**
+     * Themes whose font families are always indexed.
+     */
+    static final List<String> BUILT_IN_THEMES = List.of("classic", "sb2nov", "moderncv", "engineeringresumes");
+    
+    /**
+     * How long a font directory must go unused before a rebuild may delete it.
+     */
+    static final Duration STALE_AFTER = Duration.ofHours(1);
+    
+    private static final String INDEX_NAME = "index.properties";
+    private static final Set<String> FONT_EXTENSIONS = Set.of(".ttf", ".otf", ".ttc", ".otc");
+    
+    /**
+     * Name table IDs of the family name and the typographic family name.
+     */
+    private static final int NAME_FAMILY = 1;
+    private static final int NAME_TYPOGRAPHIC_FAMILY = 16;
+    
+    private final Path dir;
+    private final List<Path> systemDirs;
+    
+    public FontIndex(Path dir, List<Path> systemDirs) {
+        this.dir = dir;
+        this.systemDirs = systemDirs;
+    }
+    
+    /**
+     * Open the index in the application data directory over the platform's font directories.
+     */
+    public static FontIndex openDefault() {
+        return new FontIndex(TypstRunner.getAppDataDir().resolve("fonts"), systemFontDirs());
+    }
+    
+    /**
+     * Get the font families a design refers to.
+     */
+    public static Set<String> families(Design design) {
+        Set<String> families = new LinkedHashSet<>();
+        if (design != null && design.typography() != null && design.typography().fontFamily() != null) {
+            Design.FontFamily fontFamily = design.typography().fontFamily();
+            for (String family : new String[] {fontFamily.body(), fontFamily.name(), fontFamily.headline(),
+                    fontFamily.connections(), fontFamily.sectionTitles()}) {
+                if (family != null && !family.isBlank()) {
+                    families.add(family);
+                }
+            }
+        }
+        return families;
+    }
+    
+    /**
+     * Get the directory to pass to Typst for a design, building the index if needed.
+     *
+     * @return the private font directory, or null when a family is not installed;
+     *         Typst must then search the system fonts itself to find a fallback
+     */
+    public Path prepare(Design design) throws IOException {
+        Set<String> wanted = normalize(families(design));
+        
+        Index index = Index.read(dir.resolve(INDEX_NAME));
+        if (index == null || !index.families().containsAll(wanted) || index.fingerprint() != fingerprint()) {
+            index = rebuild(wanted);
+        }
+        for (String family : wanted) {
+            if (index.missing().contains(family)) {
+                return null;
+            }
+        }
+        Path fontDir = dir.resolve(index.fontDir());
+        markUsed(fontDir);
+        return fontDir;
+    }
+    
+    /**
+     * Record that a font directory is about to be used, so no rebuild deletes it meanwhile.
+     */
+    private static void markUsed(Path fontDir) {
+        try {
+            Files.setLastModifiedTime(fontDir, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Deleted by a rebuild after a long idle period; Typst reports the missing fonts
+        }
+    }
+    
+    /**
+     * Scan the system fonts and link the wanted and built-in families into a new directory.
+     */
+    private Index rebuild(Set<String> wanted) throws IOException {
+        Files.createDirectories(dir);
+        // FileLock is per process; threads of this process are serialised here
+        synchronized (FontIndex.class) {
+            try (FileChannel channel = FileChannel.open(dir.resolve(".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                return rebuildLocked(wanted);
+            }
+        }
+    }
+    
+    private Index rebuildLocked(Set<String> wanted) throws IOException {
+        // Another process may have rebuilt the index while we waited
+        long fingerprint = fingerprint();
+        Index current = Index.read(dir.resolve(INDEX_NAME));
+        if (current != null && current.families().containsAll(wanted) && current.fingerprint() == fingerprint) {
+            return current;
+        }
+        
+        Set<String> families = new TreeSet<>(wanted);
+        if (current != null) {
+            families.addAll(current.families());
+        }
+        ThemeLoader themeLoader = new ThemeLoader();
+        for (String theme : BUILT_IN_THEMES) {
+            families.addAll(normalize(families(themeLoader.loadThemeDefaults(theme))));
+        }
+        
+        Map<String, List<Path>> fonts = scan(families);
+        Set<String> missing = new TreeSet<>();
+        Set<Path> selected = new LinkedHashSet<>();
+        for (String family : families) {
+            List<Path> files = fonts.get(family);
+            if (files == null) {
+                missing.add(family);
+            } else {
+                selected.addAll(files);
+            }
+        }
+        
+        String fontDir = "fonts-" + Long.toHexString(System.currentTimeMillis());
+        Path target = Files.createDirectories(dir.resolve(fontDir));
+        Set<String> names = new HashSet<>();
+        for (Path font : selected) {
+            String name = font.getFileName().toString();
+            for (int i = 1; !names.add(name); i++) {
+                name = i + "-" + font.getFileName();
+            }
+            link(font, target.resolve(name));
+        }
+        
+        Index index = new Index(fontDir, fingerprint, families, missing);
+        index.write(dir.resolve(INDEX_NAME));
+        deleteStaleDirs(fontDir);
+        return index;
+    }
+    
+    /**
+     * Find the font files of each wanted family, reading only the name tables.
+     */
+    private Map<String, List<Path>> scan(Set<String> families) throws IOException {
+        Map<String, List<Path>> fonts = new HashMap<>();
+        for (Path systemDir : systemDirs) {
+            if (!Files.isDirectory(systemDir)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(systemDir)) {
+                for (Path font : (Iterable<Path>) files.filter(FontIndex::isFontFile).sorted()::iterator) {
+                    for (String family : readFamilies(font)) {
+                        String key = family.toLowerCase(Locale.ROOT);
+                        if (families.contains(key)) {
+                            fonts.computeIfAbsent(key, k -> new ArrayList<>()).add(font);
+                        }
+                    }
+                }
+            }
+        }
+        return fonts;
+    }
+    
+    /**
+     * Read the family and typographic family names of every face in a font file.
+     * Unreadable or malformed files have no names.
+     */
+    static Set<String> readFamilies(Path font) {
+        Set<String> names = new LinkedHashSet<>();
+        try (FileChannel channel = FileChannel.open(font)) {
+            ByteBuffer header = read(channel, 0, 12);
+            if (header.getInt(0) == 0x74746366) { // 'ttcf'
+                int count = read(channel, 8, 4).getInt(0);
+                ByteBuffer offsets = read(channel, 12, 4 * Math.min(count, 256));
+                for (int i = 0; i < offsets.capacity() / 4; i++) {
+                    readFaceFamilies(channel, Integer.toUnsignedLong(offsets.getInt(4 * i)), names);
+                }
+            } else {
+                readFaceFamilies(channel, 0, names);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not a font we can read; Typst would skip it too
+        }
+        return names;
+    }
+    
+    private static void readFaceFamilies(FileChannel channel, long face, Set<String> names) throws IOException {
+        int tables = read(channel, face + 4, 2).getShort(0) & 0xFFFF;
+        ByteBuffer records = read(channel, face + 12, 16 * tables);
+        for (int i = 0; i < tables; i++) {
+            if (records.getInt(16 * i) != 0x6E616D65) { // 'name'
+                continue;
+            }
+            long offset = Integer.toUnsignedLong(records.getInt(16 * i + 8));
+            int length = records.getInt(16 * i + 12);
+            ByteBuffer name = read(channel, offset, length);
+            int count = name.getShort(2) & 0xFFFF;
+            int strings = name.getShort(4) & 0xFFFF;
+            for (int r = 0; r < count; r++) {
+                int record = 6 + 12 * r;
+                int platform = name.getShort(record) & 0xFFFF;
+                int nameId = name.getShort(record + 6) & 0xFFFF;
+                if (nameId != NAME_FAMILY && nameId != NAME_TYPOGRAPHIC_FAMILY) {
+                    continue;
+                }
+                byte[] bytes = new byte[name.getShort(record + 8) & 0xFFFF];
+                name.get(strings + (name.getShort(record + 10) & 0xFFFF), bytes);
+                // Macintosh names are Mac Roman, which matches Latin-1 for family names in practice
+                String family = new String(bytes,
+                    platform == 1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_16BE).strip();
+                if (!family.isEmpty()) {
+                    names.add(family);
+                }
+            }
+            return;
+        }
+    }
+    
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of font file");
+            }
+        }
+        return buffer;
+    }
+    
+    private static boolean isFontFile(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && FONT_EXTENSIONS.contains(name.substring(dot)) && Files.isRegularFile(path);
+    }
+    
+    private static void link(Path font, Path target) throws IOException {
+        try {
+            Files.createSymbolicLink(target, font.toAbsolutePath());
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(font, target);
+        }
+    }
+    
+    /**
+     * Delete the font directories of earlier rebuilds that have not been used for {@link #STALE_AFTER}.
+     */
+    private void deleteStaleDirs(String current) throws IOException {
+        long cutoff = System.currentTimeMillis() - STALE_AFTER.toMillis();
+        try (Stream<Path> children = Files.list(dir)) {
+            for (Path child : (Iterable<Path>) children::iterator) {
+                String name = child.getFileName().toString();
+                if (name.startsWith("fonts-") && !name.equals(current) && child.toFile().lastModified() < cutoff) {
+                    try (Stream<Path> files = Files.walk(child)) {
+                        for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                            Files.deleteIfExists(file);
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Sum the modification times of the system font directories and their
+     * immediate subdirectories, which change when fonts are installed or removed.
+     */
+    private long fingerprint() {
+        long fingerprint = 0;
+        for (Path systemDir : systemDirs) {
+            File root = systemDir.toFile();
+            fingerprint = 31 * fingerprint + root.lastModified();
+            File[] children = root.listFiles(File::isDirectory);
+            if (children != null) {
+                for (File child : children) {
+                    fingerprint = 31 * fingerprint + child.lastModified();
+                }
+            }
+        }
+        return fingerprint;
+    }
+    
+    private static Set<String> normalize(Collection<String> families) {
+        Set<String> normalized = new TreeSet<>();
+        for (String family : families) {
+            normalized.add(family.strip().toLowerCase(Locale.ROOT));
+        }
+        return normalized;
+    }
+    
+    /**
+     * Get the directories Typst searches for system fonts on this platform.
+     */
+    static List<Path> systemFontDirs() {
+        String os = System.getProperty("os.name").toLowerCase(Locale.ROOT);
+        String home = System.getProperty("user.home");
+        List<Path> dirs = new ArrayList<>();
+        if (os.contains("win")) {
+            String windir = System.getenv("WINDIR");
+            dirs.add(Path.of(windir != null ? windir : "C:\\Windows", "Fonts"));
+            String localAppData = System.getenv("LOCALAPPDATA");
+            if (localAppData != null) {
+                dirs.add(Path.of(localAppData, "Microsoft", "Windows", "Fonts"));
+            }
+        } else if (os.contains("mac")) {
+            dirs.add(Path.of("/System/Library/Fonts"));
+            dirs.add(Path.of("/Library/Fonts"));
+            dirs.add(Path.of(home, "Library", "Fonts"));
+        } else {
+            dirs.add(Path.of("/usr/share/fonts"));
+            dirs.add(Path.of("/usr/local/share/fonts"));
+            String xdgData = System.getenv("XDG_DATA_HOME");
+            dirs.add(xdgData != null ? Path.of(xdgData, "fonts") : Path.of(home, ".local", "share", "fonts"));
+            dirs.add(Path.of(home, ".fonts"));
+        }
+        return dirs;
+    }
+    
+    /**
+     * Content of {@code index.properties}: the current font directory, the system
+     * fingerprint it was built against, and the indexed and missing families.
+     */
+    private record Index(String fontDir, long fingerprint, Set<String> families, Set<String> missing) {
+        
+        /**
+         * Read an index, or return null when it is missing or unreadable. Like the
+         * Typst manifest this runs on every start, so it avoids Properties.
+         */
+        static Index read(Path file) {
+            byte[] content;
+            try (FileInputStream in = new FileInputStream(file.toFile())) {
+                content = in.readAllBytes();
+            } catch (IOException e) {
+                return null;
+            }
+            try {
+                Map<String, String> values = new HashMap<>();
+                for (String line : new String(content, StandardCharsets.UTF_8).split("\n")) {
+                    int eq = line.indexOf('=');
+                    if (eq > 0) {
+                        values.put(line.substring(0, eq), line.substring(eq + 1).strip());
+                    }
+                }
+                return new Index(
+                    values.get("dir"),
+                    Long.parseLong(values.get("fingerprint")),
+                    split(values.get("families")),
+                    split(values.get("missing")));
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+        
+        private static Set<String> split(String value) {
+            Set<String> values = new TreeSet<>();
+            for (String part : value.split("\t")) {
+                if (!part.isEmpty()) {
+                    values.add(part);
+                }
+            }
+            return values;
+        }
+        
+        void write(Path file) throws IOException {
+            String content = "dir=" + fontDir + "\n"
+                + "fingerprint=" + fingerprint + "\n"
+                + "families=" + String.join("\t", families) + "\n"
+                + "missing=" + String.join("\t", missing) + "\n";
+            
+            Path temp = Files.createTempFile(file.getParent(), "index", ".tmp");
+            try {
+                Files.writeString(temp, content, StandardCharsets.UTF_8);
+                TypstManifest.moveAtomically(temp, file);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.typecv.renderer;
+
+import com.typecv.model.Design;
+import com.typecv.model.Locale;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded LRU cache of rendered Typst fragments.
+ * <p>
+ * A fragment is identified by the template that produced it, the value it was
+ * rendered from (an entry record, a section title, the header fields) and the
+ * resolved {@link Design} and {@link Locale}. All of these are records or
+ * collections with value equality, so an unchanged entry of a re-parsed CV hits
+ * the fragment rendered for the previous version.
+ */
+public final class FragmentCache {
+    
+    private final int maxFragments;
+    private final Map<Key, String> fragments;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    FragmentCache(int maxFragments) {
+        this.maxFragments = maxFragments;
+        this.fragments = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+                if (size() > FragmentCache.this.maxFragments) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * Get a cached fragment, or null (counted as a miss) when it has not been rendered yet.
+     */
+    String get(Key key) {
+        String fragment;
+        synchronized (fragments) {
+            fragment = fragments.get(key);
+        }
+        (fragment != null ? hits : misses).incrementAndGet();
+        return fragment;
+    }
+    
+    void put(Key key, String fragment) {
+        synchronized (fragments) {
+            fragments.put(key, fragment);
+        }
+    }
+    
+    public long hits() {
+        return hits.get();
+    }
+    
+    public long misses() {
+        return misses.get();
+    }
+    
+    public long evictions() {
+        return evictions.get();
+    }
+    
+    public int size() {
+        synchronized (fragments) {
+            return fragments.size();
+        }
+    }
+    
+    public int maxFragments() {
+        return maxFragments;
+    }
+    
+    @Override
+    public String toString() {
+        return "FragmentCache[hits=" + hits() + ", misses=" + misses() + ", evictions=" + evictions()
+            + ", size=" + size() + "/" + maxFragments + "]";
+    }
+    
+    /**
+     * Cache key with its hash computed once. The design and locale hash comes
+     * from the render context, so it is not recomputed for every fragment.
+     */
+    static final class Key {
+        private final String template;
+        private final Object value;
+        private final Design design;
+        private final Locale locale;
+        private final int hash;
+        
+        Key(String template, Object value, RenderContext context) {
+            this.template = template;
+            this.value = value;
+            this.design = context.cv().design();
+            this.locale = context.cv().locale();
+            this.hash = 31 * (31 * template.hashCode() + Objects.hashCode(value)) + context.styleHash();
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return hash == other.hash
+                && template.equals(other.template)
+                && Objects.equals(value, other.value)
+                && (design == other.design || Objects.equals(design, other.design))
+                && (locale == other.locale || Objects.equals(locale, other.locale));
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.typecv.renderer;
+
+import freemarker.template.TemplateException;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * One template of the engine, either a parsed FreeMarker template or a class
+ * generated from it at build time.
+ */
+interface FragmentTemplate {
+    
+    /**
+     * Get the template name relative to the templates directory, e.g. "entries/ExperienceEntry.ftl".
+     */
+    String name();
+    
+    /**
+     * Render the template. {@code value} is the escaped entry view for entry
+     * templates, the title for the section beginning and null otherwise.
+     */
+    void render(RenderContext context, Object value, Writer out) throws IOException, TemplateException;
+}
@@ -0,0 +1,32 @@
+package com.typecv.renderer;
+
+/**
+ * File formats Typst can export a CV to.
+ */
+public enum OutputFormat {
+    PDF("pdf", false),
+    PNG("png", true),
+    SVG("svg", true);
+    
+    private final String extension;
+    private final boolean perPage;
+    
+    OutputFormat(String extension, boolean perPage) {
+        this.extension = extension;
+        this.perPage = perPage;
+    }
+    
+    /**
+     * Get the file extension, which is also the value of Typst's {@code --format}.
+     */
+    public String extension() {
+        return extension;
+    }
+    
+    /**
+     * Check whether Typst writes one file per page for this format.
+     */
+    public boolean perPage() {
+        return perPage;
+    }
+}
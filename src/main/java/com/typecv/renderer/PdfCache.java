@@ -0,0 +1,266 @@
+package com.typecv.renderer;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of compiled PDFs, addressed by a hash of everything that goes
+ * into a compilation: the Typst source, the Typst version, the font directories
+ * and referenced assets such as the photo.
+ * <p>
+ * Entries live under {@code <dir>/<2 hex chars>/<sha256>.pdf}. A hit refreshes the
+ * file's modification time; after each store the least recently used entries are
+ * deleted until the cache fits in its byte budget. Entries are written through a
+ * temporary file and moved into place, so concurrent processes can share a cache.
+ * System fonts are not part of the key.
+ */
+public class PdfCache {
+    
+    /**
+     * Default budget for {@link #openDefault()}.
+     */
+    public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+    
+    private final Path dir;
+    private final long maxBytes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+    
+    public PdfCache(Path dir, long maxBytes) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+        }
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+    }
+    
+    /**
+     * Open the cache in the application data directory with the default budget.
+     */
+    public static PdfCache openDefault() {
+        return new PdfCache(TypstRunner.getAppDataDir().resolve("pdf-cache"), DEFAULT_MAX_BYTES);
+    }
+    
+    /**
+     * Compute the cache key of a compilation.
+     *
+     * @param source Typst source bytes
+     * @param typstVersion Version of the Typst compiler
+     * @param fontDirs Directories passed to Typst with --font-path; files are fingerprinted by name, size and time
+     * @param assets Files the source references; hashed by content, a missing file counts as absent
+     */
+    public String key(byte[] source, String typstVersion, List<Path> fontDirs, List<Path> assets) throws IOException {
+        MessageDigest digest = sha256();
+        update(digest, "typst " + typstVersion);
+        update(digest, "source " + source.length);
+        digest.update(source);
+        for (Path fontDir : fontDirs) {
+            update(digest, "fonts " + fontDir.toAbsolutePath());
+            if (Files.isDirectory(fontDir)) {
+                try (Stream<Path> files = Files.walk(fontDir)) {
+                    for (Path font : (Iterable<Path>) files.filter(Files::isRegularFile).sorted()::iterator) {
+                        File file = font.toFile();
+                        update(digest, fontDir.relativize(font) + " " + file.length() + " " + file.lastModified());
+                    }
+                }
+            }
+        }
+        for (Path asset : assets) {
+            update(digest, "asset " + asset.toAbsolutePath());
+            if (Files.isRegularFile(asset)) {
+                try (InputStream in = Files.newInputStream(asset)) {
+                    digest.update(TypstManifest.sha256(in, OutputStream.nullOutputStream()).getBytes(StandardCharsets.US_ASCII));
+                }
+            } else {
+                update(digest, "missing");
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    /**
+     * Copy the cached PDF for a key into {@code out}.
+     *
+     * @return true on a hit; on a miss nothing is written
+     */
+    public boolean copyTo(String key, OutputStream out) throws IOException {
+        Path entry = entry(key);
+        long size;
+        try {
+            size = Files.copy(entry, out);
+        } catch (NoSuchFileException e) {
+            misses.incrementAndGet();
+            return false;
+        }
+        hits.incrementAndGet();
+        bytesSaved.addAndGet(size);
+        touch(entry);
+        return true;
+    }
+    
+    /**
+     * Copy the cached PDF for a key to a file, replacing it.
+     *
+     * @return true on a hit; on a miss the target is left alone
+     */
+    public boolean copyTo(String key, Path target) throws IOException {
+        Path entry = entry(key);
+        if (!Files.isRegularFile(entry)) {
+            misses.incrementAndGet();
+            return false;
+        }
+        Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), "typecv", ".pdf.tmp");
+        try {
+            long size;
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                size = Files.copy(entry, out);
+            } catch (NoSuchFileException e) {
+                // Evicted by another process in the meantime
+                misses.incrementAndGet();
+                return false;
+            }
+            TypstManifest.moveAtomically(temp, target);
+            hits.incrementAndGet();
+            bytesSaved.addAndGet(size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        touch(entry);
+        return true;
+    }
+    
+    /**
+     * Store a compiled PDF and evict least recently used entries over the budget.
+     */
+    public void put(String key, Path pdf) throws IOException {
+        try (InputStream in = Files.newInputStream(pdf)) {
+            put(key, in);
+        }
+    }
+    
+    /**
+     * Store a compiled PDF and evict least recently used entries over the budget.
+     */
+    public void put(String key, byte[] pdf) throws IOException {
+        put(key, new ByteArrayInputStream(pdf));
+    }
+    
+    private void put(String key, InputStream pdf) throws IOException {
+        Path entry = entry(key);
+        Files.createDirectories(entry.getParent());
+        Path temp = Files.createTempFile(entry.getParent(), key, ".tmp");
+        try {
+            Files.copy(pdf, temp, StandardCopyOption.REPLACE_EXISTING);
+            TypstManifest.moveAtomically(temp, entry);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        evict();
+    }
+    
+    /**
+     * Delete the least recently used entries until the total size fits the budget.
+     */
+    private void evict() throws IOException {
+        record Entry(Path path, long size, long used) {
+        }
+        List<Entry> entries = new ArrayList<>();
+        long total = 0;
+        try (Stream<Path> files = Files.walk(dir, 2)) {
+            for (Path path : (Iterable<Path>) files.filter(p -> p.toString().endsWith(".pdf"))::iterator) {
+                File file = path.toFile();
+                entries.add(new Entry(path, file.length(), file.lastModified()));
+                total += file.length();
+            }
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+        entries.sort(Comparator.comparingLong(Entry::used));
+        for (Entry entry : entries) {
+            if (total <= maxBytes) {
+                break;
+            }
+            Files.deleteIfExists(entry.path());
+            total -= entry.size();
+        }
+    }
+    
+    /**
+     * Get the number of lookups that found a PDF.
+     */
+    public long hits() {
+        return hits.get();
+    }
+    
+    /**
+     * Get the number of lookups that found nothing.
+     */
+    public long misses() {
+        return misses.get();
+    }
+    
+    /**
+     * Get the fraction of lookups that were hits, or 0 before the first lookup.
+     */
+    public double hitRate() {
+        long lookups = hits.get() + misses.get();
+        return lookups == 0 ? 0 : (double) hits.get() / lookups;
+    }
+    
+    /**
+     * Get the total size of the PDFs served from the cache instead of being compiled.
+     */
+    public long bytesSaved() {
+        return bytesSaved.get();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("PdfCache[hits=%d, misses=%d, hitRate=%.1f%%, bytesSaved=%d]",
+            hits(), misses(), hitRate() * 100, bytesSaved());
+    }
+    
+    private Path entry(String key) {
+        return dir.resolve(key.substring(0, 2)).resolve(key + ".pdf");
+    }
+    
+    private static void touch(Path entry) {
+        try {
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Evicted meanwhile; the hit was already served
+        }
+    }
+    
+    private static void update(MessageDigest digest, String text) {
+        digest.update(text.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
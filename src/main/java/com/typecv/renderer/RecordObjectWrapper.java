@@ -0,0 +1,136 @@
+package com.typecv.renderer;
+
+import freemarker.template.AdapterTemplateModel;
+import freemarker.template.DefaultObjectWrapper;
+import freemarker.template.ObjectWrapper;
+import freemarker.template.TemplateHashModel;
+import freemarker.template.TemplateMethodModelEx;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+import freemarker.template.Version;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Object wrapper that exposes records (entries, social networks) to templates
+ * through method handles resolved once per record type.
+ * <p>
+ * Templates call record accessors and helpers such as {@code entry.company()} or
+ * {@code entry.getFormattedDate()}. The default bean wrapper answers those through
+ * its introspection cache and {@code Method.invoke}; here every public zero-argument
+ * method of a record is bound to a {@link MethodHandle} the first time the type is
+ * seen. Everything that is not a record is wrapped as before.
+ */
+final class RecordObjectWrapper extends DefaultObjectWrapper {
+    
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+    
+    private static final ClassValue<Map<String, MethodHandle>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Map<String, MethodHandle> computeValue(Class<?> type) {
+            return resolveAccessors(type);
+        }
+    };
+    
+    RecordObjectWrapper(Version incompatibleImprovements) {
+        super(incompatibleImprovements);
+        writeProtect();
+    }
+    
+    @Override
+    protected TemplateModel handleUnknownType(Object obj) throws TemplateModelException {
+        if (obj instanceof Record) {
+            return new RecordModel(obj, ACCESSORS.get(obj.getClass()), this);
+        }
+        return super.handleUnknownType(obj);
+    }
+    
+    /**
+     * Bind every public, non-static, zero-argument method with a return value.
+     */
+    private static Map<String, MethodHandle> resolveAccessors(Class<?> type) {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        Map<String, MethodHandle> accessors = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            if (method.getParameterCount() != 0
+                    || method.getReturnType() == void.class
+                    || Modifier.isStatic(method.getModifiers())
+                    || method.getDeclaringClass() == Object.class) {
+                continue;
+            }
+            try {
+                accessors.put(method.getName(), lookup.unreflect(method).asType(ACCESSOR_TYPE));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot access " + type.getSimpleName() + "." + method.getName(), e);
+            }
+        }
+        return Map.copyOf(accessors);
+    }
+    
+    /**
+     * Hash model of one record; each key is a method that templates call with no arguments.
+     */
+    private static final class RecordModel implements TemplateHashModel, AdapterTemplateModel {
+        private final Object record;
+        private final Map<String, MethodHandle> accessors;
+        private final ObjectWrapper wrapper;
+        
+        RecordModel(Object record, Map<String, MethodHandle> accessors, ObjectWrapper wrapper) {
+            this.record = record;
+            this.accessors = accessors;
+            this.wrapper = wrapper;
+        }
+        
+        @Override
+        public TemplateModel get(String key) {
+            MethodHandle accessor = accessors.get(key);
+            return accessor != null ? new AccessorModel(record, accessor, wrapper) : null;
+        }
+        
+        @Override
+        public boolean isEmpty() {
+            return accessors.isEmpty();
+        }
+        
+        @Override
+        public Object getAdaptedObject(Class<?> hint) {
+            return record;
+        }
+    }
+    
+    /**
+     * A record method bound to its receiver.
+     */
+    private static final class AccessorModel implements TemplateMethodModelEx {
+        private final Object record;
+        private final MethodHandle accessor;
+        private final ObjectWrapper wrapper;
+        
+        AccessorModel(Object record, MethodHandle accessor, ObjectWrapper wrapper) {
+            this.record = record;
+            this.accessor = accessor;
+            this.wrapper = wrapper;
+        }
+        
+        @Override
+        public Object exec(@SuppressWarnings("rawtypes") List arguments) throws TemplateModelException {
+            if (!arguments.isEmpty()) {
+                throw new TemplateModelException("Record methods take no arguments");
+            }
+            try {
+                return wrapper.wrap(accessor.invokeExact(record));
+            } catch (TemplateModelException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new TemplateModelException("Failed to call " + record.getClass().getSimpleName() + " method", e);
+            }
+        }
+    }
+}
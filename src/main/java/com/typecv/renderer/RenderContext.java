@@ -0,0 +1,342 @@
+package com.typecv.renderer;
+
+import com.typecv.model.*;
+import freemarker.template.ObjectWrapper;
+import freemarker.template.SimpleHash;
+import freemarker.template.TemplateHashModel;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable data model for rendering one CV.
+ * <p>
+ * The {@code cv}, {@code design} and {@code locale} trees are built and wrapped
+ * once per render. Templates that need an extra variable ({@code entry} or
+ * {@code sectionTitle}) get a small overlay on top of the shared model instead
+ * of a fresh copy of the whole tree. Reads never mutate the model, so one
+ * context can be used from several threads.
+ * <p>
+ * Contexts for compiled templates skip the FreeMarker model entirely; the
+ * generated code reads the CV and its escaped view directly.
+ */
+final class RenderContext {
+    
+    private final CV cv;
+    private final CvData escapedCv;
+    private final TemplateHashModel model;
+    private final ObjectWrapper wrapper;
+    private final int styleHash;
+    
+    private RenderContext(CV cv, CvData escapedCv, TemplateHashModel model, ObjectWrapper wrapper) {
+        this.cv = cv;
+        this.escapedCv = escapedCv;
+        this.model = model;
+        this.wrapper = wrapper;
+        this.styleHash = Objects.hash(cv.design(), cv.locale());
+    }
+    
+    /**
+     * Build the context for a CV, wrapping every value up front.
+     */
+    static RenderContext of(CV cv, ObjectWrapper wrapper) throws TemplateModelException {
+        CvData escaped = EscapedViews.cvData(cv.cv());
+        return new RenderContext(cv, escaped, wrapAll(createBaseModel(cv, escaped), wrapper), wrapper);
+    }
+    
+    /**
+     * Build the context for compiled templates, without a FreeMarker model.
+     */
+    static RenderContext of(CV cv) {
+        return new RenderContext(cv, EscapedViews.cvData(cv.cv()), null, null);
+    }
+    
+    /**
+     * Get the CV being rendered.
+     */
+    CV cv() {
+        return cv;
+    }
+    
+    /**
+     * Get the CV data with every display field escaped for Typst.
+     */
+    CvData escapedCv() {
+        return escapedCv;
+    }
+    
+    /**
+     * Get the combined hash of the design and locale, computed once per render.
+     */
+    int styleHash() {
+        return styleHash;
+    }
+    
+    /**
+     * Get the shared model without any per-call variables.
+     */
+    TemplateHashModel model() {
+        return model;
+    }
+    
+    /**
+     * Get the shared model with one extra variable layered on top.
+     */
+    TemplateHashModel with(String name, Object value) throws TemplateModelException {
+        return new SlotModel(model, name, wrapper.wrap(value));
+    }
+    
+    /**
+     * Recursively convert nested maps to hashes whose values are already wrapped,
+     * so later lookups return stored models instead of wrapping (and caching) lazily.
+     */
+    private static SimpleHash wrapAll(Map<String, Object> map, ObjectWrapper wrapper) throws TemplateModelException {
+        Map<String, Object> wrapped = new HashMap<>();
+        for (Map.Entry<String, Object> e : map.entrySet()) {
+            Object value = e.getValue();
+            if (value instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> nested = (Map<String, Object>) value;
+                wrapped.put(e.getKey(), wrapAll(nested, wrapper));
+            } else {
+                wrapped.put(e.getKey(), wrapper.wrap(value));
+            }
+        }
+        return new SimpleHash(wrapped, wrapper);
+    }
+    
+    private static Map<String, Object> createBaseModel(CV cv, CvData escaped) {
+        Map<String, Object> model = new HashMap<>();
+        
+        // Add escape function for templates to use
+        model.put("escapeTypst", new TemplateEngine.EscapeTypstMethod());
+        
+        // Create a flat model for cv data; display text comes from the escaped view
+        CvData cvData = cv.cv();
+        Map<String, Object> cvMap = new HashMap<>();
+        cvMap.put("name", escaped.name());
+        cvMap.put("headline", escaped.headline());
+        cvMap.put("location", escaped.location());
+        cvMap.put("email", cvData.email());
+        cvMap.put("emailEscaped", escaped.email());
+        cvMap.put("photo", cvData.photo());
+        cvMap.put("phone", escaped.phone());
+        cvMap.put("website", cvData.website());
+        cvMap.put("socialNetworks", cvData.socialNetworks());
+        cvMap.put("sections", cvData.sections());
+        model.put("cv", cvMap);
+        
+        // Create comprehensive design model
+        Design design = cv.design();
+        if (design != null) {
+            model.put("design", createDesignModel(design));
+        }
+        
+        // Create flat model for locale
+        Locale locale = cv.locale();
+        if (locale != null) {
+            Map<String, Object> localeMap = new HashMap<>();
+            localeMap.put("language", locale.language());
+            localeMap.put("present", locale.present());
+            localeMap.put("monthAbbreviations", locale.monthAbbreviations());
+            localeMap.put("monthNames", locale.monthNames());
+            model.put("locale", localeMap);
+        }
+        
+        return model;
+    }
+    
+    /**
+     * Create a comprehensive design model for templates.
+     */
+    private static Map<String, Object> createDesignModel(Design design) {
+        Map<String, Object> designMap = new HashMap<>();
+        designMap.put("theme", design.theme());
+        
+        // Page settings
+        if (design.page() != null) {
+            Map<String, Object> pageMap = new HashMap<>();
+            pageMap.put("size", design.page().size());
+            pageMap.put("topMargin", design.page().topMargin());
+            pageMap.put("bottomMargin", design.page().bottomMargin());
+            pageMap.put("leftMargin", design.page().leftMargin());
+            pageMap.put("rightMargin", design.page().rightMargin());
+            pageMap.put("showFooter", design.page().showFooter());
+            pageMap.put("showTopNote", design.page().showTopNote());
+            designMap.put("page", pageMap);
+        }
+        
+        // Color settings
+        if (design.colors() != null) {
+            Map<String, Object> colorsMap = new HashMap<>();
+            colorsMap.put("body", design.colors().body());
+            colorsMap.put("name", design.colors().name());
+            colorsMap.put("headline", design.colors().headline());
+            colorsMap.put("connections", design.colors().connections());
+            colorsMap.put("sectionTitles", design.colors().sectionTitles());
+            colorsMap.put("links", design.colors().links());
+            colorsMap.put("footer", design.colors().footer());
+            colorsMap.put("topNote", design.colors().topNote());
+            designMap.put("colors", colorsMap);
+        }
+        
+        // Typography settings
+        if (design.typography() != null) {
+            Map<String, Object> typoMap = new HashMap<>();
+            typoMap.put("lineSpacing", design.typography().lineSpacing());
+            typoMap.put("alignment", design.typography().alignment());
+            typoMap.put("dateAndLocationColumnAlignment", design.typography().dateAndLocationColumnAlignment());
+            
+            if (design.typography().fontFamily() != null) {
+                Map<String, Object> fontFamilyMap = new HashMap<>();
+                fontFamilyMap.put("body", design.typography().fontFamily().body());
+                fontFamilyMap.put("name", design.typography().fontFamily().name());
+                fontFamilyMap.put("headline", design.typography().fontFamily().headline());
+                fontFamilyMap.put("connections", design.typography().fontFamily().connections());
+                fontFamilyMap.put("sectionTitles", design.typography().fontFamily().sectionTitles());
+                typoMap.put("fontFamily", fontFamilyMap);
+            }
+            
+            if (design.typography().fontSize() != null) {
+                Map<String, Object> fontSizeMap = new HashMap<>();
+                fontSizeMap.put("body", design.typography().fontSize().body());
+                fontSizeMap.put("name", design.typography().fontSize().name());
+                fontSizeMap.put("headline", design.typography().fontSize().headline());
+                fontSizeMap.put("connections", design.typography().fontSize().connections());
+                fontSizeMap.put("sectionTitles", design.typography().fontSize().sectionTitles());
+                typoMap.put("fontSize", fontSizeMap);
+            }
+            
+            if (design.typography().smallCaps() != null) {
+                Map<String, Object> smallCapsMap = new HashMap<>();
+                smallCapsMap.put("name", design.typography().smallCaps().name());
+                smallCapsMap.put("headline", design.typography().smallCaps().headline());
+                smallCapsMap.put("connections", design.typography().smallCaps().connections());
+                smallCapsMap.put("sectionTitles", design.typography().smallCaps().sectionTitles());
+                typoMap.put("smallCaps", smallCapsMap);
+            }
+            
+            if (design.typography().bold() != null) {
+                Map<String, Object> boldMap = new HashMap<>();
+                boldMap.put("name", design.typography().bold().name());
+                boldMap.put("headline", design.typography().bold().headline());
+                boldMap.put("connections", design.typography().bold().connections());
+                boldMap.put("sectionTitles", design.typography().bold().sectionTitles());
+                typoMap.put("bold", boldMap);
+            }
+            
+            designMap.put("typography", typoMap);
+        }
+        
+        // Links settings
+        if (design.links() != null) {
+            Map<String, Object> linksMap = new HashMap<>();
+            linksMap.put("underline", design.links().underline());
+            linksMap.put("showExternalLinkIcon", design.links().showExternalLinkIcon());
+            designMap.put("links", linksMap);
+        }
+        
+        // Header settings
+        if (design.header() != null) {
+            Map<String, Object> headerMap = new HashMap<>();
+            headerMap.put("alignment", design.header().alignment());
+            headerMap.put("photoWidth", design.header().photoWidth());
+            headerMap.put("photoPosition", design.header().photoPosition());
+            headerMap.put("spaceBelowName", design.header().spaceBelowName());
+            headerMap.put("spaceBelowHeadline", design.header().spaceBelowHeadline());
+            headerMap.put("spaceBelowConnections", design.header().spaceBelowConnections());
+            
+            if (design.header().connections() != null) {
+                Map<String, Object> connMap = new HashMap<>();
+                connMap.put("phoneNumberFormat", design.header().connections().phoneNumberFormat());
+                connMap.put("hyperlink", design.header().connections().hyperlink());
+                connMap.put("showIcons", design.header().connections().showIcons());
+                connMap.put("displayUrlsInsteadOfUsernames", design.header().connections().displayUrlsInsteadOfUsernames());
+                connMap.put("separator", design.header().connections().separator());
+                connMap.put("spaceBetweenConnections", design.header().connections().spaceBetweenConnections());
+                headerMap.put("connections", connMap);
+            }
+            
+            designMap.put("header", headerMap);
+        }
+        
+        // Section titles settings
+        if (design.sectionTitles() != null) {
+            Map<String, Object> sectTitlesMap = new HashMap<>();
+            sectTitlesMap.put("type", design.sectionTitles().type());
+            sectTitlesMap.put("lineThickness", design.sectionTitles().lineThickness());
+            sectTitlesMap.put("spaceAbove", design.sectionTitles().spaceAbove());
+            sectTitlesMap.put("spaceBelow", design.sectionTitles().spaceBelow());
+            designMap.put("sectionTitles", sectTitlesMap);
+        }
+        
+        // Sections settings
+        if (design.sections() != null) {
+            Map<String, Object> sectionsMap = new HashMap<>();
+            sectionsMap.put("allowPageBreak", design.sections().allowPageBreak());
+            sectionsMap.put("spaceBetweenRegularEntries", design.sections().spaceBetweenRegularEntries());
+            sectionsMap.put("spaceBetweenTextBasedEntries", design.sections().spaceBetweenTextBasedEntries());
+            designMap.put("sections", sectionsMap);
+        }
+        
+        // Entries settings
+        if (design.entries() != null) {
+            Map<String, Object> entriesMap = new HashMap<>();
+            entriesMap.put("dateAndLocationWidth", design.entries().dateAndLocationWidth());
+            entriesMap.put("sideSpace", design.entries().sideSpace());
+            entriesMap.put("spaceBetweenColumns", design.entries().spaceBetweenColumns());
+            entriesMap.put("allowPageBreak", design.entries().allowPageBreak());
+            entriesMap.put("shortSecondRow", design.entries().shortSecondRow());
+            
+            if (design.entries().summary() != null) {
+                Map<String, Object> summaryMap = new HashMap<>();
+                summaryMap.put("spaceAbove", design.entries().summary().spaceAbove());
+                summaryMap.put("spaceLeft", design.entries().summary().spaceLeft());
+                entriesMap.put("summary", summaryMap);
+            }
+            
+            if (design.entries().highlights() != null) {
+                Map<String, Object> highlightsMap = new HashMap<>();
+                highlightsMap.put("bullet", design.entries().highlights().bullet());
+                highlightsMap.put("nestedBullet", design.entries().highlights().nestedBullet());
+                highlightsMap.put("spaceLeft", design.entries().highlights().spaceLeft());
+                highlightsMap.put("spaceAbove", design.entries().highlights().spaceAbove());
+                highlightsMap.put("spaceBetweenItems", design.entries().highlights().spaceBetweenItems());
+                highlightsMap.put("spaceBetweenBulletAndText", design.entries().highlights().spaceBetweenBulletAndText());
+                entriesMap.put("highlights", highlightsMap);
+            }
+            
+            designMap.put("entries", entriesMap);
+        }
+        
+        return designMap;
+    }
+    
+    /**
+     * Hash model that exposes one variable in addition to the shared base model.
+     */
+    private static final class SlotModel implements TemplateHashModel {
+        private final TemplateHashModel base;
+        private final String name;
+        private final TemplateModel value;
+        
+        SlotModel(TemplateHashModel base, String name, TemplateModel value) {
+            this.base = base;
+            this.name = name;
+            this.value = value;
+        }
+        
+        @Override
+        public TemplateModel get(String key) throws TemplateModelException {
+            return name.equals(key) ? value : base.get(key);
+        }
+        
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.typecv.renderer;
+
+/**
+ * Rendering options for a {@link TemplateEngine}.
+ */
+public record RenderOptions(
+    boolean parallel,
+    int parallelThreshold,
+    int fragmentCacheSize,
+    boolean compiledTemplates
+) {
+    
+    public RenderOptions {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("parallelThreshold must be at least 1: " + parallelThreshold);
+        }
+        if (fragmentCacheSize < 0) {
+            throw new IllegalArgumentException("fragmentCacheSize must not be negative: " + fragmentCacheSize);
+        }
+    }
+    
+    /**
+     * Create default options: sequential rendering of the FreeMarker templates
+     * without a fragment cache.
+     */
+    public static RenderOptions defaults() {
+        return new RenderOptions(false, 64, 0, false);
+    }
+    
+    /**
+     * Render sections on the common fork-join pool once a CV has at least
+     * {@code threshold} entries. Sections with at least that many entries are
+     * also split into chunks of at most that size. Output is identical to sequential rendering.
+     */
+    public RenderOptions withParallel(int threshold) {
+        return new RenderOptions(true, threshold, fragmentCacheSize, compiledTemplates);
+    }
+    
+    /**
+     * Keep up to {@code maxFragments} rendered fragments (preamble, header, section
+     * titles and entries) in an LRU cache shared by every render of the engine.
+     */
+    public RenderOptions withFragmentCache(int maxFragments) {
+        return new RenderOptions(parallel, parallelThreshold, maxFragments, compiledTemplates);
+    }
+    
+    /**
+     * Render with the Java classes generated from the templates at build time
+     * ({@code compileTemplates} task) instead of interpreting the .ftl files.
+     * Output is identical; FreeMarker is not loaded at all.
+     */
+    public RenderOptions withCompiledTemplates() {
+        return new RenderOptions(parallel, parallelThreshold, fragmentCacheSize, true);
+    }
+}
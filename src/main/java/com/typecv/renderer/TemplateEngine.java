@@ -6,273 +6,321 @@ import freemarker.template.Template;
 import freemarker.template.TemplateException;
 import freemarker.template.TemplateExceptionHandler;
 import freemarker.template.TemplateMethodModelEx;
+import freemarker.template.TemplateModelException;
 
+import java.io.BufferedWriter;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Template engine for rendering CV data to Typst format using Freemarker.
  * Supports multiple themes with full design customization.
+ * <p>
+ * All templates are resolved and parsed once when the engine is created, so an
+ * instance is immutable and can be shared between threads. Use {@link #shared()}
+ * in long-running processes instead of creating a new engine per render.
+ * <p>
+ * With {@link RenderOptions#withCompiledTemplates()} the engine uses the classes
+ * generated from the templates at build time and never starts FreeMarker.
  */
 public class TemplateEngine {
     
+    /**
+     * Scope around a section of reversed numbered entries, see {@link #isReversedSection}.
+     */
+    private static final String REVERSED_ENUM_BEGIN = "#[\n#set enum(reversed: true)\n";
+    private static final String REVERSED_ENUM_END = "]\n";
+    
     private final Configuration cfg;
+    private final RenderOptions options;
+    private final FragmentCache fragmentCache;
+    
+    // Pre-resolved template registry, populated once in the constructor
+    private final FragmentTemplate preambleTemplate;
+    private final FragmentTemplate headerTemplate;
+    private final FragmentTemplate sectionBeginningTemplate;
+    private final FragmentTemplate sectionEndingTemplate;
+    private final Map<Class<?>, FragmentTemplate> entryTemplates;
     
     public TemplateEngine() {
-        cfg = new Configuration(Configuration.VERSION_2_3_32);
-        cfg.setClassLoaderForTemplateLoading(getClass().getClassLoader(), "templates");
-        cfg.setDefaultEncoding("UTF-8");
-        cfg.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
-        cfg.setLogTemplateExceptions(false);
-        cfg.setWrapUncheckedExceptions(true);
-        cfg.setFallbackOnNullLoopVariable(false);
+        this(RenderOptions.defaults());
     }
     
-    /**
-     * Render a CV to Typst format.
-     */
-    public String render(CV cv) throws IOException, TemplateException {
-        StringBuilder output = new StringBuilder();
-        
-        // Render preamble
-        output.append(renderPreamble(cv));
-        
-        // Render header
-        output.append(renderHeader(cv));
+    public TemplateEngine(RenderOptions options) {
+        this.options = options;
+        this.fragmentCache = options.fragmentCacheSize() > 0 ? new FragmentCache(options.fragmentCacheSize()) : null;
+        cfg = options.compiledTemplates() ? null : createConfiguration();
         
-        // Render each section
-        for (Map.Entry<String, List<Object>> section : cv.cv().sections().entrySet()) {
-            output.append(renderSection(section.getKey(), section.getValue(), cv));
+        try {
+            preambleTemplate = loadTemplate("Preamble.ftl", null);
+            headerTemplate = loadTemplate("Header.ftl", null);
+            sectionBeginningTemplate = loadTemplate("SectionBeginning.ftl", "sectionTitle");
+            sectionEndingTemplate = loadTemplate("SectionEnding.ftl", null);
+            entryTemplates = loadEntryTemplates();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load templates: " + e.getMessage(), e);
         }
-        
-        return output.toString();
     }
     
-    private Map<String, Object> createBaseModel(CV cv) {
-        Map<String, Object> model = new HashMap<>();
-        
-        // Add escape function for templates to use
-        model.put("escapeTypst", new EscapeTypstMethod());
-        
-        // Create a flat model for cv data
-        CvData cvData = cv.cv();
-        Map<String, Object> cvMap = new HashMap<>();
-        cvMap.put("name", cvData.name());
-        cvMap.put("headline", cvData.headline());
-        cvMap.put("location", cvData.location());
-        cvMap.put("email", cvData.email());
-        cvMap.put("emailEscaped", escapeTypst(cvData.email()));
-        cvMap.put("photo", cvData.photo());
-        cvMap.put("phone", cvData.phone());
-        cvMap.put("website", cvData.website());
-        cvMap.put("socialNetworks", cvData.socialNetworks());
-        cvMap.put("sections", cvData.sections());
-        model.put("cv", cvMap);
-        
-        // Create comprehensive design model
-        Design design = cv.design();
-        if (design != null) {
-            model.put("design", createDesignModel(design));
+    /**
+     * Get the process-wide engine instance, created on first use.
+     */
+    public static TemplateEngine shared() {
+        return SharedHolder.INSTANCE;
+    }
+    
+    private static final class SharedHolder {
+        private static final TemplateEngine INSTANCE = new TemplateEngine(RenderOptions.defaults().withCompiledTemplates());
+    }
+    
+    /**
+     * Get the fragment cache of this engine, or null when it was created without one.
+     */
+    public FragmentCache fragmentCache() {
+        return fragmentCache;
+    }
+    
+    private Configuration createConfiguration() {
+        Configuration configuration = new Configuration(Configuration.VERSION_2_3_32);
+        configuration.setClassLoaderForTemplateLoading(getClass().getClassLoader(), "templates");
+        configuration.setDefaultEncoding("UTF-8");
+        configuration.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+        configuration.setLogTemplateExceptions(false);
+        configuration.setWrapUncheckedExceptions(true);
+        configuration.setFallbackOnNullLoopVariable(false);
+        configuration.setObjectWrapper(new RecordObjectWrapper(Configuration.VERSION_2_3_32));
+        return configuration;
+    }
+    
+    /**
+     * Resolve a template by name, either its compiled class or the parsed .ftl file.
+     * {@code slot} names the variable the render value is bound to in FreeMarker.
+     */
+    private FragmentTemplate loadTemplate(String name, String slot) throws IOException {
+        if (cfg == null) {
+            FragmentTemplate template = CompiledTemplates.ALL.get(name);
+            if (template == null) {
+                throw new FileNotFoundException("No compiled template " + name);
+            }
+            return template;
         }
-        
-        // Create flat model for locale
-        Locale locale = cv.locale();
-        if (locale != null) {
-            Map<String, Object> localeMap = new HashMap<>();
-            localeMap.put("language", locale.language());
-            localeMap.put("present", locale.present());
-            localeMap.put("monthAbbreviations", locale.monthAbbreviations());
-            localeMap.put("monthNames", locale.monthNames());
-            model.put("locale", localeMap);
+        return new InterpretedTemplate(cfg.getTemplate(name), slot);
+    }
+    
+    /**
+     * Resolve the template of every permitted {@link Entry} type, keyed by record class.
+     * An entry type without a template under "entries/" fails engine creation.
+     */
+    private Map<Class<?>, FragmentTemplate> loadEntryTemplates() throws IOException {
+        Map<Class<?>, FragmentTemplate> templates = new HashMap<>();
+        for (Class<?> entryType : Entry.class.getPermittedSubclasses()) {
+            templates.put(entryType, loadTemplate("entries/" + entryType.getSimpleName() + ".ftl", "entry"));
         }
-        
-        return model;
+        return Map.copyOf(templates);
     }
     
     /**
-     * Create a comprehensive design model for templates.
+     * A parsed FreeMarker template, given the shared model plus the render value as {@code slot}.
      */
-    private Map<String, Object> createDesignModel(Design design) {
-        Map<String, Object> designMap = new HashMap<>();
-        designMap.put("theme", design.theme());
+    private static final class InterpretedTemplate implements FragmentTemplate {
+        private final Template template;
+        private final String slot;
         
-        // Page settings
-        if (design.page() != null) {
-            Map<String, Object> pageMap = new HashMap<>();
-            pageMap.put("size", design.page().size());
-            pageMap.put("topMargin", design.page().topMargin());
-            pageMap.put("bottomMargin", design.page().bottomMargin());
-            pageMap.put("leftMargin", design.page().leftMargin());
-            pageMap.put("rightMargin", design.page().rightMargin());
-            pageMap.put("showFooter", design.page().showFooter());
-            pageMap.put("showTopNote", design.page().showTopNote());
-            designMap.put("page", pageMap);
+        InterpretedTemplate(Template template, String slot) {
+            this.template = template;
+            this.slot = slot;
         }
         
-        // Color settings
-        if (design.colors() != null) {
-            Map<String, Object> colorsMap = new HashMap<>();
-            colorsMap.put("body", design.colors().body());
-            colorsMap.put("name", design.colors().name());
-            colorsMap.put("headline", design.colors().headline());
-            colorsMap.put("connections", design.colors().connections());
-            colorsMap.put("sectionTitles", design.colors().sectionTitles());
-            colorsMap.put("links", design.colors().links());
-            colorsMap.put("footer", design.colors().footer());
-            colorsMap.put("topNote", design.colors().topNote());
-            designMap.put("colors", colorsMap);
+        @Override
+        public String name() {
+            return template.getName();
         }
         
-        // Typography settings
-        if (design.typography() != null) {
-            Map<String, Object> typoMap = new HashMap<>();
-            typoMap.put("lineSpacing", design.typography().lineSpacing());
-            typoMap.put("alignment", design.typography().alignment());
-            typoMap.put("dateAndLocationColumnAlignment", design.typography().dateAndLocationColumnAlignment());
-            
-            if (design.typography().fontFamily() != null) {
-                Map<String, Object> fontFamilyMap = new HashMap<>();
-                fontFamilyMap.put("body", design.typography().fontFamily().body());
-                fontFamilyMap.put("name", design.typography().fontFamily().name());
-                fontFamilyMap.put("headline", design.typography().fontFamily().headline());
-                fontFamilyMap.put("connections", design.typography().fontFamily().connections());
-                fontFamilyMap.put("sectionTitles", design.typography().fontFamily().sectionTitles());
-                typoMap.put("fontFamily", fontFamilyMap);
-            }
-            
-            if (design.typography().fontSize() != null) {
-                Map<String, Object> fontSizeMap = new HashMap<>();
-                fontSizeMap.put("body", design.typography().fontSize().body());
-                fontSizeMap.put("name", design.typography().fontSize().name());
-                fontSizeMap.put("headline", design.typography().fontSize().headline());
-                fontSizeMap.put("connections", design.typography().fontSize().connections());
-                fontSizeMap.put("sectionTitles", design.typography().fontSize().sectionTitles());
-                typoMap.put("fontSize", fontSizeMap);
-            }
-            
-            if (design.typography().smallCaps() != null) {
-                Map<String, Object> smallCapsMap = new HashMap<>();
-                smallCapsMap.put("name", design.typography().smallCaps().name());
-                smallCapsMap.put("headline", design.typography().smallCaps().headline());
-                smallCapsMap.put("connections", design.typography().smallCaps().connections());
-                smallCapsMap.put("sectionTitles", design.typography().smallCaps().sectionTitles());
-                typoMap.put("smallCaps", smallCapsMap);
-            }
-            
-            if (design.typography().bold() != null) {
-                Map<String, Object> boldMap = new HashMap<>();
-                boldMap.put("name", design.typography().bold().name());
-                boldMap.put("headline", design.typography().bold().headline());
-                boldMap.put("connections", design.typography().bold().connections());
-                boldMap.put("sectionTitles", design.typography().bold().sectionTitles());
-                typoMap.put("bold", boldMap);
-            }
-            
-            designMap.put("typography", typoMap);
+        @Override
+        public void render(RenderContext context, Object value, Writer out) throws IOException, TemplateException {
+            template.process(slot == null ? context.model() : context.with(slot, value), out);
         }
+    }
+    
+    /**
+     * Render a CV to Typst format.
+     */
+    public String render(CV cv) throws IOException, TemplateException {
+        StringWriter output = new StringWriter();
+        render(cv, output);
+        return output.toString();
+    }
+    
+    /**
+     * Render a CV to Typst format, streaming every template straight to the writer.
+     * The writer is not flushed or closed.
+     */
+    public void render(CV cv, Writer out) throws IOException, TemplateException {
+        // Build the data model once; only the entry/sectionTitle slot varies per template
+        RenderContext context = createContext(cv);
         
-        // Links settings
-        if (design.links() != null) {
-            Map<String, Object> linksMap = new HashMap<>();
-            linksMap.put("underline", design.links().underline());
-            linksMap.put("showExternalLinkIcon", design.links().showExternalLinkIcon());
-            designMap.put("links", linksMap);
-        }
+        // Render preamble
+        writeFragment(preambleTemplate, null, context, out,
+            w -> preambleTemplate.render(context, null, w));
         
-        // Header settings
-        if (design.header() != null) {
-            Map<String, Object> headerMap = new HashMap<>();
-            headerMap.put("alignment", design.header().alignment());
-            headerMap.put("photoWidth", design.header().photoWidth());
-            headerMap.put("photoPosition", design.header().photoPosition());
-            headerMap.put("spaceBelowName", design.header().spaceBelowName());
-            headerMap.put("spaceBelowHeadline", design.header().spaceBelowHeadline());
-            headerMap.put("spaceBelowConnections", design.header().spaceBelowConnections());
-            
-            if (design.header().connections() != null) {
-                Map<String, Object> connMap = new HashMap<>();
-                connMap.put("phoneNumberFormat", design.header().connections().phoneNumberFormat());
-                connMap.put("hyperlink", design.header().connections().hyperlink());
-                connMap.put("showIcons", design.header().connections().showIcons());
-                connMap.put("displayUrlsInsteadOfUsernames", design.header().connections().displayUrlsInsteadOfUsernames());
-                connMap.put("separator", design.header().connections().separator());
-                connMap.put("spaceBetweenConnections", design.header().connections().spaceBetweenConnections());
-                headerMap.put("connections", connMap);
-            }
-            
-            designMap.put("header", headerMap);
-        }
+        // Render header
+        CvData cvData = cv.cv();
+        List<Object> headerFields = Arrays.asList(cvData.name(), cvData.headline(), cvData.location(),
+            cvData.email(), cvData.photo(), cvData.phone(), cvData.website(), cvData.socialNetworks());
+        writeFragment(headerTemplate, headerFields, context, out,
+            w -> headerTemplate.render(context, null, w));
         
-        // Section titles settings
-        if (design.sectionTitles() != null) {
-            Map<String, Object> sectTitlesMap = new HashMap<>();
-            sectTitlesMap.put("type", design.sectionTitles().type());
-            sectTitlesMap.put("lineThickness", design.sectionTitles().lineThickness());
-            sectTitlesMap.put("spaceAbove", design.sectionTitles().spaceAbove());
-            sectTitlesMap.put("spaceBelow", design.sectionTitles().spaceBelow());
-            designMap.put("sectionTitles", sectTitlesMap);
+        // Render each section
+        if (options.parallel() && countEntries(cv) >= options.parallelThreshold()) {
+            renderSectionsInParallel(cv, context, out);
+            return;
         }
-        
-        // Sections settings
-        if (design.sections() != null) {
-            Map<String, Object> sectionsMap = new HashMap<>();
-            sectionsMap.put("allowPageBreak", design.sections().allowPageBreak());
-            sectionsMap.put("spaceBetweenRegularEntries", design.sections().spaceBetweenRegularEntries());
-            sectionsMap.put("spaceBetweenTextBasedEntries", design.sections().spaceBetweenTextBasedEntries());
-            designMap.put("sections", sectionsMap);
+        for (Map.Entry<String, List<Object>> section : cv.cv().sections().entrySet()) {
+            renderSection(section.getKey(), section.getValue(), context, out);
         }
-        
-        // Entries settings
-        if (design.entries() != null) {
-            Map<String, Object> entriesMap = new HashMap<>();
-            entriesMap.put("dateAndLocationWidth", design.entries().dateAndLocationWidth());
-            entriesMap.put("sideSpace", design.entries().sideSpace());
-            entriesMap.put("spaceBetweenColumns", design.entries().spaceBetweenColumns());
-            entriesMap.put("allowPageBreak", design.entries().allowPageBreak());
-            entriesMap.put("shortSecondRow", design.entries().shortSecondRow());
-            
-            if (design.entries().summary() != null) {
-                Map<String, Object> summaryMap = new HashMap<>();
-                summaryMap.put("spaceAbove", design.entries().summary().spaceAbove());
-                summaryMap.put("spaceLeft", design.entries().summary().spaceLeft());
-                entriesMap.put("summary", summaryMap);
-            }
-            
-            if (design.entries().highlights() != null) {
-                Map<String, Object> highlightsMap = new HashMap<>();
-                highlightsMap.put("bullet", design.entries().highlights().bullet());
-                highlightsMap.put("nestedBullet", design.entries().highlights().nestedBullet());
-                highlightsMap.put("spaceLeft", design.entries().highlights().spaceLeft());
-                highlightsMap.put("spaceAbove", design.entries().highlights().spaceAbove());
-                highlightsMap.put("spaceBetweenItems", design.entries().highlights().spaceBetweenItems());
-                highlightsMap.put("spaceBetweenBulletAndText", design.entries().highlights().spaceBetweenBulletAndText());
-                entriesMap.put("highlights", highlightsMap);
+    }
+    
+    /**
+     * Render a CV to Typst format as UTF-8 bytes. The stream is flushed but not closed.
+     */
+    public void render(CV cv, OutputStream out) throws IOException, TemplateException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        render(cv, writer);
+        writer.flush();
+    }
+    
+    /**
+     * Create the immutable per-render data model for a CV.
+     */
+    RenderContext createContext(CV cv) throws TemplateModelException {
+        return cfg == null ? RenderContext.of(cv) : RenderContext.of(cv, cfg.getObjectWrapper());
+    }
+    
+    /**
+     * Characters that start Typst markup anywhere in a line and are always escaped.
+     */
+    private static final String TYPST_SPECIAL = "\\#$*_<>@`[]~";
+    
+    /**
+     * Bitsets over ASCII 0-63 and 64-127 of the characters that may need escaping:
+     * the special set plus those that only matter in context ("/" for comments,
+     * "=", "-", "+" and the "." of "1." at the start of a line).
+     */
+    private static final long TYPST_CANDIDATE_LOW;
+    private static final long TYPST_CANDIDATE_HIGH;
+    
+    static {
+        long low = 0;
+        long high = 0;
+        for (char c : (TYPST_SPECIAL + "/=-+.").toCharArray()) {
+            if (c < 64) {
+                low |= 1L << c;
+            } else {
+                high |= 1L << (c - 64);
             }
-            
-            designMap.put("entries", entriesMap);
         }
-        
-        return designMap;
+        TYPST_CANDIDATE_LOW = low;
+        TYPST_CANDIDATE_HIGH = high;
     }
     
     /**
      * Escape text for Typst to prevent interpretation as special syntax.
      * This handles:
+     * - \ (escape character itself)
+     * - # (function/keyword syntax)
      * - $ (math mode delimiter)
-     * - @ (label syntax)
-     * - # (function/keyword syntax - only at start of content blocks)
-     * - < and > (can interfere with markup)
+     * - * and _ (strong and emphasis)
+     * - ` (raw text)
+     * - < and > (labels)
+     * - @ (references)
+     * - [ and ] (content blocks, which would unbalance the surrounding template markup)
+     * - ~ (non-breaking space shorthand)
+     * - // and /* (comments), except for the "://" of a URL
+     * - =, -, + and 1. followed by a space at the start of a line (headings and lists)
+     * <p>
+     * Scans the text once and returns the same instance when nothing needs escaping.
      */
     public static String escapeTypst(String text) {
         if (text == null) return null;
-        // Escape $ first (math mode delimiter) - this is the most common issue
-        // Escape @ symbol which is used for labels in Typst
-        return text
-            .replace("$", "\\$")
-            .replace("@", "\\@");
+        int length = text.length();
+        StringBuilder escaped = null;
+        int copied = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (isTypstCandidate(c) && needsTypstEscape(text, i, c)) {
+                if (escaped == null) {
+                    escaped = new StringBuilder(length + 8);
+                }
+                escaped.append(text, copied, i).append('\\');
+                copied = i;
+            }
+        }
+        if (escaped == null) {
+            return text;
+        }
+        return escaped.append(text, copied, length).toString();
+    }
+    
+    private static boolean isTypstCandidate(char c) {
+        // Shifts only use the low six bits of c, so each mask covers its own 64-char range
+        return c < 128 && (((c < 64 ? TYPST_CANDIDATE_LOW : TYPST_CANDIDATE_HIGH) >>> c) & 1L) != 0;
+    }
+    
+    private static boolean needsTypstEscape(String text, int i, char c) {
+        switch (c) {
+            case '/':
+                // Only a slash that opens a comment; keep "https://" intact so links still work
+                if (i + 1 < text.length()) {
+                    char next = text.charAt(i + 1);
+                    return (next == '/' || next == '*') && (i == 0 || text.charAt(i - 1) != ':');
+                }
+                return false;
+            case '=':
+            case '-':
+            case '+':
+                // Heading, list and enum markers only count at the start of a line and before a space
+                if (!isLineStart(text, i)) {
+                    return false;
+                }
+                int next = i + 1;
+                while (c == '=' && next < text.length() && text.charAt(next) == '=') {
+                    next++;
+                }
+                return next < text.length() && Character.isWhitespace(text.charAt(next));
+            case '.':
+                // The dot of a numbered enum marker such as "1. "
+                int digits = i;
+                while (digits > 0 && Character.isDigit(text.charAt(digits - 1))) {
+                    digits--;
+                }
+                return digits < i && isLineStart(text, digits)
+                    && i + 1 < text.length() && Character.isWhitespace(text.charAt(i + 1));
+            default:
+                return true;
+        }
+    }
+    
+    /**
+     * Check whether only indentation precedes position {@code i} on its line.
+     */
+    private static boolean isLineStart(String text, int i) {
+        int j = i - 1;
+        while (j >= 0 && (text.charAt(j) == ' ' || text.charAt(j) == '\t')) {
+            j--;
+        }
+        return j < 0 || text.charAt(j) == '\n';
     }
     
     /**
@@ -292,87 +340,214 @@ public class TemplateEngine {
         }
     }
     
-    private String renderPreamble(CV cv) throws IOException, TemplateException {
-        Template template = cfg.getTemplate("Preamble.ftl");
-        StringWriter writer = new StringWriter();
-        
-        Map<String, Object> model = createBaseModel(cv);
-        template.process(model, writer);
-        return writer.toString();
-    }
-    
-    private String renderHeader(CV cv) throws IOException, TemplateException {
-        Template template = cfg.getTemplate("Header.ftl");
-        StringWriter writer = new StringWriter();
-        
-        Map<String, Object> model = createBaseModel(cv);
-        template.process(model, writer);
-        return writer.toString();
-    }
-    
-    private String renderSection(String sectionName, List<Object> entries, CV cv) 
+    private void renderSection(String sectionName, List<Object> entries, RenderContext context, Writer out)
             throws IOException, TemplateException {
-        StringBuilder output = new StringBuilder();
-        
         // Format section title: "education" -> "Education", "work_experience" -> "Work Experience"
         String sectionTitle = formatSectionTitle(sectionName);
         
         // Render section beginning
-        Template beginTemplate = cfg.getTemplate("SectionBeginning.ftl");
-        StringWriter beginWriter = new StringWriter();
-        Map<String, Object> beginModel = createBaseModel(cv);
-        beginModel.put("sectionTitle", sectionTitle);
-        beginTemplate.process(beginModel, beginWriter);
-        output.append(beginWriter.toString());
+        renderSectionBeginning(sectionTitle, context, out);
         
         // Render each entry
+        boolean reversed = isReversedSection(entries);
+        if (reversed) {
+            out.write(REVERSED_ENUM_BEGIN);
+        }
         for (Object entry : entries) {
-            output.append(renderEntry(entry, cv));
+            renderEntry(entry, context, out);
+        }
+        if (reversed) {
+            out.write(REVERSED_ENUM_END);
         }
         
         // Render section ending
-        Template endTemplate = cfg.getTemplate("SectionEnding.ftl");
-        StringWriter endWriter = new StringWriter();
-        Map<String, Object> endModel = createBaseModel(cv);
-        endTemplate.process(endModel, endWriter);
-        output.append(endWriter.toString());
+        renderSectionEnding(context, out);
+    }
+    
+    private void renderSectionBeginning(String sectionTitle, RenderContext context, Writer out)
+            throws IOException, TemplateException {
+        writeFragment(sectionBeginningTemplate, sectionTitle, context, out,
+            w -> sectionBeginningTemplate.render(context, sectionTitle, w));
+    }
+    
+    private void renderSectionEnding(RenderContext context, Writer out) throws IOException, TemplateException {
+        writeFragment(sectionEndingTemplate, null, context, out,
+            w -> sectionEndingTemplate.render(context, null, w));
+    }
+    
+    /**
+     * Check whether a section consists of reversed numbered entries. Each entry
+     * renders as an ordinary enum item, so the section wraps them in a scope that
+     * counts the enum down from the number of items to 1.
+     */
+    private static boolean isReversedSection(List<Object> entries) {
+        if (entries.isEmpty()) {
+            return false;
+        }
+        for (Object entry : entries) {
+            if (!(entry instanceof ReversedNumberedEntry)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static int countEntries(CV cv) {
+        int count = 0;
+        for (List<Object> entries : cv.cv().sections().values()) {
+            count += entries.size();
+        }
+        return count;
+    }
+    
+    /**
+     * Render every section as a fork-join task and write the results in section order.
+     */
+    private void renderSectionsInParallel(CV cv, RenderContext context, Writer out)
+            throws IOException, TemplateException {
+        List<SectionTask> tasks = new ArrayList<>();
+        for (Map.Entry<String, List<Object>> section : cv.cv().sections().entrySet()) {
+            SectionTask task = new SectionTask(section.getKey(), section.getValue(), context);
+            tasks.add(task);
+            task.fork();
+        }
+        try {
+            for (SectionTask task : tasks) {
+                out.write(task.join());
+            }
+        } catch (RuntimeException e) {
+            for (SectionTask task : tasks) {
+                task.cancel(false);
+            }
+            throw unwrapRenderFailure(e);
+        }
+    }
+    
+    /**
+     * Recover the checked exception thrown inside a render task, which fork-join may have re-wrapped.
+     */
+    private static RuntimeException unwrapRenderFailure(RuntimeException e) throws IOException, TemplateException {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof TemplateException te) {
+                throw te;
+            }
+        }
+        return e;
+    }
+    
+    /**
+     * Renders one whole section, splitting large ones into entry chunks.
+     */
+    private final class SectionTask extends RecursiveTask<String> {
+        private final String sectionName;
+        private final List<Object> entries;
+        private final RenderContext context;
         
-        return output.toString();
+        SectionTask(String sectionName, List<Object> entries, RenderContext context) {
+            this.sectionName = sectionName;
+            this.entries = entries;
+            this.context = context;
+        }
+        
+        @Override
+        protected String compute() {
+            try {
+                StringWriter out = new StringWriter();
+                renderSectionBeginning(formatSectionTitle(sectionName), context, out);
+                boolean reversed = isReversedSection(entries);
+                out.write(reversed ? REVERSED_ENUM_BEGIN : "");
+                out.write(new EntriesTask(entries, 0, entries.size(), context).compute());
+                out.write(reversed ? REVERSED_ENUM_END : "");
+                renderSectionEnding(context, out);
+                return out.toString();
+            } catch (IOException | TemplateException e) {
+                throw new RenderTaskException(e);
+            }
+        }
     }
     
-    private String renderEntry(Object entry, CV cv) throws IOException, TemplateException {
-        String templateName = getEntryTemplateName(entry);
-        Template template = cfg.getTemplate("entries/" + templateName);
-        StringWriter writer = new StringWriter();
+    /**
+     * Renders a range of entries, forking halves until they fit under the parallel threshold.
+     */
+    private final class EntriesTask extends RecursiveTask<String> {
+        private final List<Object> entries;
+        private final int from;
+        private final int to;
+        private final RenderContext context;
         
-        Map<String, Object> model = createBaseModel(cv);
-        model.put("entry", entry);
+        EntriesTask(List<Object> entries, int from, int to, RenderContext context) {
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+            this.context = context;
+        }
         
-        template.process(model, writer);
-        return writer.toString();
-    }
-    
-    private String getEntryTemplateName(Object entry) {
-        if (entry instanceof EducationEntry) {
-            return "EducationEntry.ftl";
-        } else if (entry instanceof ExperienceEntry) {
-            return "ExperienceEntry.ftl";
-        } else if (entry instanceof ProjectEntry) {
-            return "ProjectEntry.ftl";
-        } else if (entry instanceof PublicationEntry) {
-            return "PublicationEntry.ftl";
-        } else if (entry instanceof OneLineEntry) {
-            return "OneLineEntry.ftl";
-        } else if (entry instanceof NumberedEntry) {
-            return "NumberedEntry.ftl";
-        } else if (entry instanceof ReversedNumberedEntry) {
-            return "ReversedNumberedEntry.ftl";
-        } else if (entry instanceof BulletEntry) {
-            return "BulletEntry.ftl";
-        } else if (entry instanceof TextEntry) {
-            return "TextEntry.ftl";
-        }
-        return "TextEntry.ftl"; // Default fallback
+        @Override
+        protected String compute() {
+            if (to - from > options.parallelThreshold()) {
+                int mid = (from + to) >>> 1;
+                EntriesTask left = new EntriesTask(entries, from, mid, context);
+                left.fork();
+                String right = new EntriesTask(entries, mid, to, context).compute();
+                return left.join() + right;
+            }
+            try {
+                StringWriter out = new StringWriter();
+                for (int i = from; i < to; i++) {
+                    renderEntry(entries.get(i), context, out);
+                }
+                return out.toString();
+            } catch (IOException | TemplateException e) {
+                throw new RenderTaskException(e);
+            }
+        }
+    }
+    
+    /**
+     * Carries a checked render failure out of a fork-join task.
+     */
+    private static final class RenderTaskException extends RuntimeException {
+        RenderTaskException(Exception cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+    
+    void renderEntry(Object entry, RenderContext context, Writer out) throws IOException, TemplateException {
+        FragmentTemplate template = entryTemplates.get(entry.getClass());
+        if (template == null) {
+            throw new IOException("Unsupported entry type: " + entry.getClass().getName());
+        }
+        writeFragment(template, entry, context, out,
+            w -> template.render(context, EscapedViews.entry(entry), w));
+    }
+    
+    /**
+     * Write one template's output, taking it from the fragment cache when the
+     * same template was already rendered for an equal value, design and locale.
+     */
+    private void writeFragment(FragmentTemplate template, Object value, RenderContext context, Writer out,
+            FragmentWriter fragment) throws IOException, TemplateException {
+        if (fragmentCache == null) {
+            fragment.write(out);
+            return;
+        }
+        FragmentCache.Key key = new FragmentCache.Key(template.name(), value, context);
+        String text = fragmentCache.get(key);
+        if (text == null) {
+            StringWriter buffer = new StringWriter();
+            fragment.write(buffer);
+            text = buffer.toString();
+            fragmentCache.put(key, text);
+        }
+        out.write(text);
+    }
+    
+    @FunctionalInterface
+    private interface FragmentWriter {
+        void write(Writer out) throws IOException, TemplateException;
     }
     
     private String formatSectionTitle(String sectionName) {
@@ -0,0 +1,57 @@
+package com.typecv.renderer;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One message Typst reported on stderr while compiling.
+ * <p>
+ * Parsed from the {@code --diagnostic-format short} output, e.g.
+ * {@code <stdin>:12:3: error: unknown variable: foo}. Lines without a source
+ * location keep {@code file} null and {@code line}/{@code column} 0.
+ */
+public record TypstDiagnostic(
+    Severity severity,
+    String file,
+    int line,
+    int column,
+    String message
+) {
+    
+    public enum Severity {
+        ERROR,
+        WARNING,
+        HINT,
+        INFO
+    }
+    
+    private static final Pattern LOCATED = Pattern.compile("^(.+?):(\\d+):(\\d+): (error|warning|hint): (.*)$");
+    private static final Pattern UNLOCATED = Pattern.compile("^(error|warning|hint): (.*)$");
+    
+    /**
+     * Parse one line of Typst's stderr. Lines that are not diagnostics become INFO.
+     */
+    public static TypstDiagnostic parse(String text) {
+        Matcher located = LOCATED.matcher(text);
+        if (located.matches()) {
+            return new TypstDiagnostic(severity(located.group(4)), located.group(1),
+                Integer.parseInt(located.group(2)), Integer.parseInt(located.group(3)), located.group(5));
+        }
+        Matcher unlocated = UNLOCATED.matcher(text.strip());
+        if (unlocated.matches()) {
+            return new TypstDiagnostic(severity(unlocated.group(1)), null, 0, 0, unlocated.group(2));
+        }
+        return new TypstDiagnostic(Severity.INFO, null, 0, 0, text);
+    }
+    
+    private static Severity severity(String name) {
+        return Severity.valueOf(name.toUpperCase(Locale.ROOT));
+    }
+    
+    @Override
+    public String toString() {
+        String prefix = file != null ? file + ":" + line + ":" + column + ": " : "";
+        return prefix + severity.name().toLowerCase(Locale.ROOT) + ": " + message;
+    }
+}
@@ -0,0 +1,132 @@
+package com.typecv.renderer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Record of a resolved Typst binary, stored next to the extracted copy so later
+ * runs can reuse it after a single stat instead of searching or extracting again.
+ * <p>
+ * The hash is computed once when the manifest is written; warm runs only compare
+ * size and modification time, which catches a replaced or truncated binary.
+ */
+record TypstManifest(
+    Path path,
+    long size,
+    long modified,
+    String sha256,
+    String version
+) {
+    
+    /**
+     * Read a manifest, or return null when it is missing or unreadable.
+     * <p>
+     * This runs on every start, so it sticks to java.io classes the JVM has already
+     * loaded: Properties or NIO file reads add several milliseconds of class loading.
+     */
+    static TypstManifest read(Path file) {
+        byte[] content;
+        try (FileInputStream in = new FileInputStream(file.toFile())) {
+            content = in.readAllBytes();
+        } catch (IOException e) {
+            return null;
+        }
+        try {
+            Map<String, String> values = new HashMap<>();
+            for (String line : new String(content, StandardCharsets.UTF_8).split("\n")) {
+                int eq = line.indexOf('=');
+                if (eq > 0) {
+                    values.put(line.substring(0, eq), line.substring(eq + 1).strip());
+                }
+            }
+            return new TypstManifest(
+                Path.of(values.get("path")),
+                Long.parseLong(values.get("size")),
+                Long.parseLong(values.get("modified")),
+                values.get("sha256"),
+                values.get("version"));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Describe an existing binary, hashing its content.
+     */
+    static TypstManifest of(Path binary, String version) throws IOException {
+        String sha256;
+        try (InputStream in = Files.newInputStream(binary)) {
+            sha256 = sha256(in, OutputStream.nullOutputStream());
+        }
+        File file = binary.toFile();
+        return new TypstManifest(binary, file.length(), file.lastModified(), sha256, version);
+    }
+    
+    /**
+     * Copy a stream while hashing it and return the hex SHA-256 of the bytes copied.
+     */
+    static String sha256(InputStream in, OutputStream out) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (DigestInputStream hashing = new DigestInputStream(in, digest)) {
+            hashing.transferTo(out);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    /**
+     * Check that the binary is still the one described, by size and modification time.
+     */
+    boolean isCurrent() {
+        File file = path.toFile();
+        return file.isFile() && file.length() == size && file.lastModified() == modified;
+    }
+    
+    /**
+     * Write the manifest through a temporary file so readers never see a partial one.
+     */
+    void write(Path file) throws IOException {
+        String content = "path=" + path + "\n"
+            + "size=" + size + "\n"
+            + "modified=" + modified + "\n"
+            + "sha256=" + sha256 + "\n"
+            + "version=" + version + "\n";
+        
+        Path temp = Files.createTempFile(file.getParent(), "manifest", ".tmp");
+        try {
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            moveAtomically(temp, file);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    /**
+     * Move a file into place atomically where the filesystem supports it.
+     */
+    static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.typecv.renderer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Fixed pool of warm Typst processes for compiling many documents.
+ * <p>
+ * Each slot owns a private directory and a long-lived {@code typst watch} on its
+ * input file, so fonts and Typst's incremental cache stay loaded between jobs.
+ * A job leases an idle slot, replaces the slot's input, waits for the watcher to
+ * report the compilation and copies the PDF out. A slot whose process died, did
+ * not answer within the job timeout or was left compiling by an interrupted job
+ * is killed (with its children) and restarted.
+ * <p>
+ * Jobs from any number of threads queue for a free slot; {@link #queueDepth()} and
+ * {@link #slotStats()} report how busy the pool is.
+ */
+public class TypstPool implements Closeable {
+    
+    private static final Duration DEFAULT_JOB_TIMEOUT = Duration.ofSeconds(120);
+    
+    /**
+     * Status line printed by {@code typst watch} after every compilation.
+     */
+    private static final Pattern STATUS = Pattern.compile("compiled (successfully|with warnings|with errors)");
+    private static final Pattern ANSI = Pattern.compile("\u001B\\[[0-9;?]*[A-Za-z]");
+    
+    private final Path typstBinary;
+    private final Duration jobTimeout;
+    private final Path workDir;
+    private final List<Slot> slots = new ArrayList<>();
+    private final BlockingQueue<Slot> idle = new LinkedBlockingQueue<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private volatile boolean closed;
+    
+    /**
+     * Start a pool of {@code size} warm Typst processes.
+     */
+    public TypstPool(Path typstBinary, int size) throws IOException {
+        this(typstBinary, size, DEFAULT_JOB_TIMEOUT);
+    }
+    
+    /**
+     * Start a pool of {@code size} warm Typst processes; a job that takes longer
+     * than {@code jobTimeout} fails and its worker is recycled.
+     */
+    public TypstPool(Path typstBinary, int size, Duration jobTimeout) throws IOException {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be at least 1: " + size);
+        }
+        this.typstBinary = typstBinary;
+        this.jobTimeout = jobTimeout;
+        this.workDir = Files.createTempDirectory("typecv-pool");
+        try {
+            for (int i = 0; i < size; i++) {
+                Slot slot = new Slot(i, Files.createDirectories(workDir.resolve("slot-" + i)));
+                slots.add(slot);
+                slot.start();
+                idle.add(slot);
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Compile Typst source to PDF on the next free slot, blocking while all slots are busy.
+     * Relative paths in the source resolve against the slot's private directory,
+     * so assets should be referenced by absolute path.
+     * 
+     * @param source Typst source
+     * @param pdf Receives the PDF bytes when compilation succeeds; not closed
+     * @return exit code 0 on success or 1 on errors, with the reported diagnostics
+     * @throws IOException if the worker crashed or hung; it is restarted for the next job
+     * @throws InterruptedException if interrupted while waiting; a compilation in
+     *         progress is abandoned and its worker restarted for the next job
+     */
+    public CompileResult compile(String source, OutputStream pdf) throws IOException, InterruptedException {
+        if (closed) {
+            throw new IOException("Typst pool is closed");
+        }
+        Slot slot;
+        waiting.incrementAndGet();
+        try {
+            slot = idle.take();
+        } finally {
+            waiting.decrementAndGet();
+        }
+        try {
+            return slot.run(source, pdf);
+        } finally {
+            idle.add(slot);
+        }
+    }
+    
+    /**
+     * Get the number of jobs waiting for a free slot.
+     */
+    public int queueDepth() {
+        return waiting.get();
+    }
+    
+    /**
+     * Get a snapshot of the counters of every slot.
+     */
+    public List<SlotStats> slotStats() {
+        List<SlotStats> stats = new ArrayList<>();
+        for (Slot slot : slots) {
+            stats.add(slot.stats());
+        }
+        return stats;
+    }
+    
+    /**
+     * Kill every worker and delete the slot directories.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        for (Slot slot : slots) {
+            slot.stop();
+        }
+        if (Files.exists(workDir)) {
+            try (Stream<Path> files = Files.walk(workDir)) {
+                for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Counters of one slot.
+     * 
+     * @param slot Slot index
+     * @param jobs Jobs run, including failed ones
+     * @param failures Jobs that failed because the worker crashed or hung
+     * @param recycles Times the worker process was restarted
+     * @param busy Total time spent running jobs
+     * @param utilisation Fraction of the slot's lifetime spent running jobs
+     */
+    public record SlotStats(int slot, long jobs, long failures, long recycles, Duration busy, double utilisation) {
+    }
+    
+    /**
+     * Outcome of one compilation as reported by the watcher, or EXITED when the process ended.
+     */
+    private record Status(boolean success, List<TypstDiagnostic> diagnostics) {
+        static final Status EXITED = new Status(false, List.of());
+    }
+    
+    private final class Slot {
+        private final int index;
+        private final Path input;
+        private final Path staging;
+        private final Path output;
+        private final long createdNanos = System.nanoTime();
+        
+        // Guarded by the lease: only the thread holding the slot touches these
+        private Process process;
+        private BlockingQueue<Status> statuses;
+        private String lastSource;
+        private Status lastStatus;
+        /** Set when a job left a compilation running; the worker is restarted before the next one. */
+        private boolean abandoned;
+        
+        // Read by slotStats() from other threads
+        private volatile long jobs;
+        private volatile long failures;
+        private volatile long recycles;
+        private volatile long busyNanos;
+        
+        Slot(int index, Path dir) {
+            this.index = index;
+            this.input = dir.resolve("input.typ");
+            this.staging = dir.resolve("input.typ.tmp");
+            this.output = dir.resolve("output.pdf");
+        }
+        
+        /**
+         * Start the watcher on an empty document and wait for its first compilation.
+         */
+        void start() throws IOException {
+            Files.writeString(input, "", StandardCharsets.UTF_8);
+            lastSource = "";
+            
+            ProcessBuilder pb = new ProcessBuilder(
+                typstBinary.toString(),
+                "watch",
+                "--diagnostic-format", "short",
+                input.toString(),
+                output.toString()
+            );
+            pb.redirectErrorStream(true);
+            process = pb.start();
+            statuses = new LinkedBlockingQueue<>();
+            Thread reader = new Thread(() -> readStatuses(process, statuses), "typst-pool-" + index);
+            reader.setDaemon(true);
+            reader.start();
+            
+            try {
+                lastStatus = statuses.poll(jobTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while starting Typst worker " + index, e);
+            }
+            if (lastStatus == null || lastStatus == Status.EXITED) {
+                stop();
+                throw new IOException("Typst worker " + index + " did not start");
+            }
+        }
+        
+        CompileResult run(String source, OutputStream pdf) throws IOException, InterruptedException {
+            long start = System.nanoTime();
+            try {
+                if (abandoned || !process.isAlive()) {
+                    recycle();
+                }
+                // Typst does not report anything for an unchanged input, and the output is still current
+                if (!source.equals(lastSource)) {
+                    statuses.clear();
+                    Files.deleteIfExists(output);
+                    // Replace the input atomically so the watcher never compiles a half-written file
+                    Files.writeString(staging, source, StandardCharsets.UTF_8);
+                    Files.move(staging, input, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    lastSource = null;
+                    
+                    Status status;
+                    try {
+                        status = awaitStatus(Files.getLastModifiedTime(input));
+                    } catch (InterruptedException e) {
+                        // The compilation is still running and its status would answer the next job
+                        failures++;
+                        abandoned = true;
+                        stop();
+                        throw e;
+                    }
+                    if (status == null || status == Status.EXITED) {
+                        failures++;
+                        recycle();
+                        throw new IOException(status == null
+                            ? "Typst worker " + index + " did not finish within " + jobTimeout.toSeconds() + " seconds"
+                            : "Typst worker " + index + " exited");
+                    }
+                    lastSource = source;
+                    lastStatus = status;
+                }
+                if (lastStatus.success()) {
+                    Files.copy(output, pdf);
+                }
+                return new CompileResult(lastStatus.success() ? 0 : 1, lastStatus.diagnostics(),
+                    Duration.ofNanos(System.nanoTime() - start));
+            } finally {
+                jobs++;
+                busyNanos += System.nanoTime() - start;
+            }
+        }
+        
+        /**
+         * Wait for the status of the compilation of the input moved in at {@code moved}.
+         * The output was deleted before the move, so a success must come with an
+         * output written since, and an error with no output at all; any other
+         * status belongs to a compilation that started earlier and is skipped.
+         *
+         * @return the status, EXITED, or null on timeout
+         */
+        private Status awaitStatus(FileTime moved) throws IOException, InterruptedException {
+            long deadline = System.nanoTime() + jobTimeout.toNanos();
+            while (true) {
+                Status status = statuses.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (status == null || status == Status.EXITED) {
+                    return status;
+                }
+                FileTime written = Files.exists(output) ? Files.getLastModifiedTime(output) : null;
+                if (status.success() ? written != null && written.compareTo(moved) >= 0 : written == null) {
+                    return status;
+                }
+            }
+        }
+        
+        private void recycle() throws IOException {
+            recycles++;
+            stop();
+            abandoned = false;
+            start();
+        }
+        
+        void stop() {
+            if (process != null) {
+                TypstRunner.destroyTree(process);
+            }
+        }
+        
+        SlotStats stats() {
+            long busy = busyNanos;
+            long lifetime = Math.max(1, System.nanoTime() - createdNanos);
+            return new SlotStats(index, jobs, failures, recycles, Duration.ofNanos(busy), (double) busy / lifetime);
+        }
+    }
+    
+    /**
+     * Turn the watcher's output into one Status per compilation, with the
+     * diagnostics printed since the previous one.
+     */
+    private static void readStatuses(Process process, BlockingQueue<Status> statuses) {
+        List<TypstDiagnostic> diagnostics = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = ANSI.matcher(line).replaceAll("").strip();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                Matcher status = STATUS.matcher(line);
+                if (status.find()) {
+                    statuses.add(new Status(!status.group(1).equals("with errors"), List.copyOf(diagnostics)));
+                    diagnostics.clear();
+                    continue;
+                }
+                TypstDiagnostic diagnostic = TypstDiagnostic.parse(line);
+                if (diagnostic.severity() != TypstDiagnostic.Severity.INFO) {
+                    diagnostics.add(diagnostic);
+                }
+            }
+        } catch (IOException e) {
+            // The process was killed
+        }
+        statuses.add(Status.EXITED);
+    }
+}
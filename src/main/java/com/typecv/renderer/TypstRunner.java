@@ -1,13 +1,36 @@
 package com.typecv.renderer;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.PosixFilePermission;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Handles extraction and execution of the bundled Typst binary.
@@ -16,8 +39,53 @@ public class TypstRunner {
     
     private static final String TYPST_VERSION = "0.12.0";
     private static final String APP_NAME = "typecv";
+    private static final String MANIFEST_NAME = "manifest.properties";
+    private static final long TIMEOUT_SECONDS = 120;
+    
+    /**
+     * Deadline of the blocking {@code compile} methods.
+     */
+    public static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(TIMEOUT_SECONDS);
+    
+    /**
+     * Most console output kept per compilation, counted from the end; earlier output is counted and dropped.
+     */
+    static final int OUTPUT_LIMIT = 64 * 1024;
+    
+    /**
+     * Daemon threads that pump the pipes of Typst processes.
+     */
+    private static final ExecutorService PIPES = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "typst-pipe");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    /**
+     * Daemon thread that enforces the deadlines of asynchronous compilations.
+     */
+    private static final ScheduledExecutorService DEADLINES = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "typst-deadline");
+        thread.setDaemon(true);
+        return thread;
+    });
     
     private Path typstBinary;
+    private PdfCache pdfCache;
+    private Path fontDir;
+    
+    /**
+     * Create a runner that locates or extracts Typst on {@link #initialize()}.
+     */
+    public TypstRunner() {
+    }
+    
+    /**
+     * Create a runner that uses the given Typst executable.
+     */
+    public TypstRunner(Path typstBinary) {
+        this.typstBinary = typstBinary;
+    }
     
     /**
      * Initialize the Typst runner, extracting the binary if necessary.
@@ -26,69 +94,519 @@ public class TypstRunner {
         typstBinary = getOrExtractTypst();
     }
     
+    /**
+     * Reuse PDFs from {@code cache} when the same source was compiled before, and
+     * store new ones in it. A hit neither resolves Typst nor starts a process.
+     */
+    public void setPdfCache(PdfCache cache) {
+        this.pdfCache = cache;
+    }
+    
+    /**
+     * Make Typst load fonts only from {@code dir} (see {@link FontIndex}) instead of
+     * discovering every system font on each start; null restores the default.
+     */
+    public void setFontDir(Path dir) {
+        this.fontDir = dir;
+    }
+    
+    /**
+     * Get the Typst executable, locating or extracting it on first use.
+     */
+    public Path getTypstBinary() throws IOException {
+        if (typstBinary == null) {
+            initialize();
+        }
+        return typstBinary;
+    }
+    
     /**
      * Compile a Typst file to PDF.
      * 
      * @param typstFile Path to the .typ file
      * @param outputPdf Path to the output PDF file
+     * @return the result, which may carry warnings
      * @throws IOException if compilation fails
      */
-    public void compile(Path typstFile, Path outputPdf) throws IOException, InterruptedException {
+    public CompileResult compile(Path typstFile, Path outputPdf) throws IOException, InterruptedException {
+        return compile(typstFile, outputPdf, List.of());
+    }
+    
+    /**
+     * Compile a Typst file to PDF, taking it from the PDF cache when possible.
+     * 
+     * @param typstFile Path to the .typ file
+     * @param outputPdf Path to the output PDF file
+     * @param assets Files the source references, such as the photo; part of the cache key
+     * @return the result, which may carry warnings
+     * @throws IOException if compilation fails or takes longer than {@link #DEFAULT_DEADLINE}
+     */
+    public CompileResult compile(Path typstFile, Path outputPdf, List<Path> assets) throws IOException, InterruptedException {
+        return await(compileAsync(typstFile, outputPdf, assets, DEFAULT_DEADLINE));
+    }
+    
+    /**
+     * Wait for an asynchronous compilation, cancelling it if this thread is interrupted.
+     * 
+     * @return the result of a successful compilation, which may carry warnings
+     * @throws IOException if compilation failed, with Typst's errors in the message, missed its deadline
+     *         or was cancelled
+     */
+    public static CompileResult await(CompletableFuture<CompileResult> future) throws IOException, InterruptedException {
+        CompileResult result;
+        try {
+            result = future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (CancellationException e) {
+            throw new IOException("Typst compilation was cancelled", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new IOException(e.getCause().getMessage());
+            }
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Typst compilation failed", e.getCause());
+        }
+        
+        if (!result.success()) {
+            StringBuilder message = new StringBuilder("Typst compilation failed with exit code: " + result.exitCode());
+            for (TypstDiagnostic error : result.errors()) {
+                message.append(System.lineSeparator()).append(error);
+            }
+            throw new IOException(message.toString());
+        }
+        return result;
+    }
+    
+    /**
+     * Start compiling a Typst file to PDF without waiting for it.
+     * <p>
+     * Typst's console output is drained on a pipe thread into a ring buffer that
+     * keeps the last {@value #OUTPUT_LIMIT} bytes, which become the result's
+     * diagnostics once the process exits; nothing is written to disk, and a chatty
+     * Typst cannot grow the buffer. Cancelling the future, or missing the deadline, kills
+     * Typst together with any processes it started; the deadline completes the
+     * future with a {@link TimeoutException}. A cache hit returns a completed future.
+     * 
+     * @param typstFile Path to the .typ file
+     * @param outputPdf Path to the output PDF file
+     * @param assets Files the source references, such as the photo; part of the cache key
+     * @param deadline Longest the compilation may run
+     * @return the exit code and diagnostics; check {@link CompileResult#success()}
+     * @throws IOException if Typst cannot be resolved or started
+     */
+    public CompletableFuture<CompileResult> compileAsync(Path typstFile, Path outputPdf, List<Path> assets,
+            Duration deadline) throws IOException {
+        long start = System.nanoTime();
+        String cacheKey = null;
+        if (pdfCache != null) {
+            cacheKey = pdfCache.key(Files.readAllBytes(typstFile), TYPST_VERSION, fontDirs(), assets);
+            if (pdfCache.copyTo(cacheKey, outputPdf)) {
+                return CompletableFuture.completedFuture(
+                    new CompileResult(0, List.of(), Duration.ofNanos(System.nanoTime() - start)));
+            }
+        }
+        
         if (typstBinary == null) {
             initialize();
         }
         
-        ProcessBuilder pb = new ProcessBuilder(
-            typstBinary.toString(),
+        return launch(command(
             "compile",
+            "--diagnostic-format", "short",
             typstFile.toString(),
             outputPdf.toString()
-        );
+        ), deadline, cacheKey, outputPdf);
+    }
+    
+    /**
+     * Start exporting a Typst file to any format, like
+     * {@link #compileAsync(Path, Path, List, Duration)}. Formats with a file per page
+     * need Typst's page number placeholder {@code {p}} in {@code output}, as in
+     * {@code cv-{p}.png}; PDFs go through the PDF cache.
+     * 
+     * @param typstFile Path to the .typ file
+     * @param output Path of the output file, or the template of the page files
+     * @param format Output format
+     * @param ppi Pixels per inch of PNG pages; ignored for other formats
+     * @param deadline Longest the compilation may run
+     * @return the exit code and diagnostics; check {@link CompileResult#success()}
+     * @throws IOException if Typst cannot be resolved or started
+     */
+    public CompletableFuture<CompileResult> compileAsync(Path typstFile, Path output, OutputFormat format, int ppi,
+            Duration deadline) throws IOException {
+        if (format == OutputFormat.PDF) {
+            return compileAsync(typstFile, output, List.of(), deadline);
+        }
+        if (format.perPage() && !output.toString().contains("{p}")) {
+            throw new IllegalArgumentException("Output of " + format + " pages needs a {p} placeholder: " + output);
+        }
+        if (typstBinary == null) {
+            initialize();
+        }
         
-        pb.inheritIO();
+        List<String> args = new ArrayList<>(List.of("--diagnostic-format", "short", "--format", format.extension()));
+        if (format == OutputFormat.PNG) {
+            args.addAll(List.of("--ppi", Integer.toString(ppi)));
+        }
+        args.addAll(List.of(typstFile.toString(), output.toString()));
+        return launch(command("compile", args.toArray(String[]::new)), deadline, null, null);
+    }
+    
+    /**
+     * Run a Typst command in the background; see {@link #compileAsync(Path, Path, List, Duration)}.
+     * A successful run stores {@code pdf} in the PDF cache under {@code cacheKey} when one is given.
+     */
+    private CompletableFuture<CompileResult> launch(List<String> command, Duration deadline, String cacheKey, Path pdf)
+            throws IOException {
+        long start = System.nanoTime();
+        ProcessBuilder pb = new ProcessBuilder(command);
+        pb.redirectErrorStream(true);
         Process process = pb.start();
+        process.getOutputStream().close();
+        CompletableFuture<List<TypstDiagnostic>> output =
+            CompletableFuture.supplyAsync(() -> readOutput(process.getInputStream()), PIPES);
+        
+        CompletableFuture<CompileResult> result = new CompletableFuture<>();
+        process.onExit().thenCombineAsync(output, (exited, diagnostics) -> {
+            CompileResult compiled = new CompileResult(exited.exitValue(), diagnostics,
+                Duration.ofNanos(System.nanoTime() - start));
+            try {
+                if (compiled.success() && cacheKey != null && !result.isDone()) {
+                    pdfCache.put(cacheKey, pdf);
+                }
+                result.complete(compiled);
+            } catch (IOException e) {
+                result.completeExceptionally(e);
+            }
+            return null;
+        }, PIPES);
         
-        boolean finished = process.waitFor(120, TimeUnit.SECONDS);
+        ScheduledFuture<?> timer = DEADLINES.schedule(() -> result.completeExceptionally(
+                new TimeoutException("Typst compilation exceeded its deadline of " + deadline.toMillis() + " ms")),
+            deadline.toNanos(), TimeUnit.NANOSECONDS);
+        result.whenComplete((compiled, error) -> {
+            timer.cancel(false);
+            if (error != null) {
+                destroyTree(process);
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * Compile Typst source to PDF entirely through pipes ({@code typst compile - -}),
+     * without touching the filesystem.
+     * <p>
+     * The source is written to Typst's stdin while the PDF is collected from its stdout
+     * and stderr is collected as diagnostics on background threads. The PDF is
+     * written to {@code pdf} once Typst exits with code 0.
+     * Relative paths in the source (such as a photo) resolve against the working
+     * directory. Nothing is written to {@code pdf} when compilation fails; the
+     * stream is not closed. The PDF cache is not used, because it cannot tell
+     * whether files the source references have changed; pass them to
+     * {@link #compile(InputStream, OutputStream, List)} to use it.
+     * 
+     * @param source Typst source, read until end of stream
+     * @param pdf Receives the PDF bytes
+     * @return the exit code and diagnostics; check {@link CompileResult#success()}
+     * @throws IOException if Typst cannot be started, a pipe fails or it times out
+     */
+    public CompileResult compile(InputStream source, OutputStream pdf) throws IOException, InterruptedException {
+        return compileThroughPipes(source, pdf);
+    }
+    
+    /**
+     * Compile Typst source to PDF through pipes like {@link #compile(InputStream, OutputStream)},
+     * reusing a cached PDF when the source, the fonts and every referenced asset are unchanged.
+     * 
+     * @param source Typst source, read until end of stream
+     * @param pdf Receives the PDF bytes
+     * @param assets Files the source references, such as the photo; part of the cache key
+     * @return the exit code and diagnostics; check {@link CompileResult#success()}
+     * @throws IOException if Typst cannot be started, a pipe fails or it times out
+     */
+    public CompileResult compile(InputStream source, OutputStream pdf, List<Path> assets)
+            throws IOException, InterruptedException {
+        if (pdfCache == null) {
+            return compileThroughPipes(source, pdf);
+        }
         
-        if (!finished) {
-            process.destroyForcibly();
-            throw new IOException("Typst compilation timed out after 120 seconds");
+        long start = System.nanoTime();
+        byte[] bytes = source.readAllBytes();
+        String cacheKey = pdfCache.key(bytes, TYPST_VERSION, fontDirs(), assets);
+        if (pdfCache.copyTo(cacheKey, pdf)) {
+            return new CompileResult(0, List.of(), Duration.ofNanos(System.nanoTime() - start));
+        }
+        ByteArrayOutputStream compiled = new ByteArrayOutputStream();
+        CompileResult result = compileThroughPipes(new ByteArrayInputStream(bytes), compiled);
+        if (result.success()) {
+            pdfCache.put(cacheKey, compiled.toByteArray());
+            compiled.writeTo(pdf);
+        }
+        return result;
+    }
+    
+    private CompileResult compileThroughPipes(InputStream source, OutputStream pdf) throws IOException, InterruptedException {
+        if (typstBinary == null) {
+            initialize();
         }
         
-        if (process.exitValue() != 0) {
-            throw new IOException("Typst compilation failed with exit code: " + process.exitValue());
+        ProcessBuilder pb = new ProcessBuilder(command(
+            "compile",
+            "--diagnostic-format", "short",
+            "--format", "pdf",
+            "-",
+            "-"
+        ));
+        
+        long start = System.nanoTime();
+        Process process = pb.start();
+        // Typst may write part of a PDF before failing, so it reaches the caller only on success
+        ByteArrayOutputStream buffered = new ByteArrayOutputStream();
+        CompletableFuture<Void> output = CompletableFuture.runAsync(() -> copy(process.getInputStream(), buffered), PIPES);
+        CompletableFuture<List<TypstDiagnostic>> diagnostics =
+            CompletableFuture.supplyAsync(() -> readDiagnostics(process.getErrorStream()), PIPES);
+        
+        try {
+            feed(source, process.getOutputStream());
+            
+            if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IOException("Typst compilation timed out after " + TIMEOUT_SECONDS + " seconds");
+            }
+            output.join();
+            if (process.exitValue() == 0) {
+                buffered.writeTo(pdf);
+            }
+            return new CompileResult(process.exitValue(), diagnostics.join(),
+                Duration.ofNanos(System.nanoTime() - start));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        } finally {
+            destroyTree(process);
+        }
+    }
+    
+    /**
+     * Copy the source to Typst's stdin and close it. Typst closing stdin early is
+     * ignored, as the exit code and diagnostics explain why; failing to read the
+     * source is rethrown, since Typst would otherwise compile truncated input.
+     */
+    private static void feed(InputStream source, OutputStream stdin) throws IOException {
+        byte[] buffer = new byte[8192];
+        boolean open = true;
+        try {
+            int read;
+            while (open && (read = source.read(buffer)) >= 0) {
+                try {
+                    stdin.write(buffer, 0, read);
+                } catch (IOException e) {
+                    open = false;
+                }
+            }
+        } finally {
+            try {
+                stdin.close();
+            } catch (IOException e) {
+                // Already closed by Typst
+            }
         }
     }
     
+    /**
+     * Kill a process and everything it started, children first so none are orphaned.
+     */
+    static void destroyTree(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+    
+    
+    /**
+     * Build a Typst command line, adding the font options after the subcommand.
+     */
+    private List<String> command(String subcommand, String... args) {
+        List<String> command = new ArrayList<>();
+        command.add(typstBinary.toString());
+        command.add(subcommand);
+        if (fontDir != null) {
+            command.add("--font-path");
+            command.add(fontDir.toString());
+            command.add("--ignore-system-fonts");
+        }
+        command.addAll(List.of(args));
+        return command;
+    }
+    
+    private List<Path> fontDirs() {
+        return fontDir == null ? List.of() : List.of(fontDir);
+    }
+    
+    private static void copy(InputStream in, OutputStream out) {
+        try (in) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Parse the console output of a compilation, keeping only the last
+     * {@value #OUTPUT_LIMIT} bytes; a note counts the bytes dropped before them.
+     */
+    static List<TypstDiagnostic> readOutput(InputStream in) {
+        byte[] ring = new byte[OUTPUT_LIMIT];
+        long total = 0;
+        try (in) {
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = in.read(chunk)) >= 0) {
+                for (int copied = 0; copied < read; ) {
+                    int at = (int) (total % OUTPUT_LIMIT);
+                    int length = Math.min(read - copied, OUTPUT_LIMIT - at);
+                    System.arraycopy(chunk, copied, ring, at, length);
+                    copied += length;
+                    total += length;
+                }
+            }
+        } catch (IOException e) {
+            // The process was killed; keep what was read
+        }
+        if (total <= OUTPUT_LIMIT) {
+            return readDiagnostics(new ByteArrayInputStream(ring, 0, (int) total));
+        }
+        byte[] tail = new byte[OUTPUT_LIMIT];
+        int oldest = (int) (total % OUTPUT_LIMIT);
+        System.arraycopy(ring, oldest, tail, 0, OUTPUT_LIMIT - oldest);
+        System.arraycopy(ring, 0, tail, OUTPUT_LIMIT - oldest, oldest);
+        // The first line was cut by the limit
+        int from = 0;
+        for (int i = 0; i < tail.length; i++) {
+            if (tail[i] == '\n') {
+                from = i + 1;
+                break;
+            }
+        }
+        List<TypstDiagnostic> diagnostics = new ArrayList<>();
+        diagnostics.add(new TypstDiagnostic(TypstDiagnostic.Severity.INFO, null, 0, 0,
+            (total - tail.length + from) + " earlier bytes of Typst output were dropped"));
+        diagnostics.addAll(readDiagnostics(new ByteArrayInputStream(tail, from, tail.length - from)));
+        return diagnostics;
+    }
+    
+    private static List<TypstDiagnostic> readDiagnostics(InputStream stderr) {
+        List<TypstDiagnostic> diagnostics = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stderr, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    diagnostics.add(TypstDiagnostic.parse(line));
+                }
+            }
+        } catch (IOException e) {
+            // The process was killed; keep what was read
+        }
+        return diagnostics;
+    }
+    
+    /**
+     * Start {@code typst watch}, which recompiles the PDF whenever the Typst file changes.
+     * The process keeps Typst's incremental cache and loaded fonts between edits;
+     * its output goes to this process's console. The caller must destroy it.
+     * 
+     * @param typstFile Path to the .typ file
+     * @param outputPdf Path to the output PDF file
+     * @return the running watcher process
+     */
+    public Process watch(Path typstFile, Path outputPdf) throws IOException {
+        if (typstBinary == null) {
+            initialize();
+        }
+        
+        ProcessBuilder pb = new ProcessBuilder(command(
+            "watch",
+            typstFile.toString(),
+            outputPdf.toString()
+        ));
+        
+        pb.inheritIO();
+        return pb.start();
+    }
+    
     /**
      * Get the path to the Typst binary, extracting it if necessary.
+     * <p>
+     * Warm runs read the manifest and stat the binary it names, without hashing,
+     * searching the PATH or starting a process. Otherwise the binary is resolved
+     * under an exclusive lock on the version directory, so parallel invocations
+     * extract it once and never see a partially written file.
      */
     private Path getOrExtractTypst() throws IOException {
-        Path appDataDir = getAppDataDir();
-        Path typstDir = appDataDir.resolve("typst-" + TYPST_VERSION);
-        Path binary = typstDir.resolve(getTypstBinaryName());
+        Path typstDir = getAppDataDir().resolve("typst-" + TYPST_VERSION);
+        Path manifestFile = typstDir.resolve(MANIFEST_NAME);
         
-        if (Files.exists(binary)) {
-            return binary;
+        TypstManifest manifest = TypstManifest.read(manifestFile);
+        if (manifest != null && manifest.isCurrent()) {
+            return manifest.path();
         }
         
-        // Create directory
         Files.createDirectories(typstDir);
+        // FileLock is per process; threads of this process are serialised here
+        synchronized (TypstRunner.class) {
+            try (FileChannel channel = FileChannel.open(typstDir.resolve(".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                // Another process may have finished while we waited for the lock
+                manifest = TypstManifest.read(manifestFile);
+                if (manifest == null || !manifest.isCurrent()) {
+                    manifest = resolveTypst(typstDir);
+                    manifest.write(manifestFile);
+                }
+                return manifest.path();
+            }
+        }
+    }
+    
+    /**
+     * Extract the bundled binary or fall back to Typst on the PATH. Called with the lock held.
+     */
+    private TypstManifest resolveTypst(Path typstDir) throws IOException {
+        Path binary = typstDir.resolve(getTypstBinaryName());
         
-        // Try to extract bundled binary
+        // Try to extract bundled binary, hashing it on the way to a temporary file
         String resourcePath = "typst/" + getTypstResourceName();
         try (InputStream is = getClass().getClassLoader().getResourceAsStream(resourcePath)) {
             if (is != null) {
-                Files.copy(is, binary, StandardCopyOption.REPLACE_EXISTING);
-                makeExecutable(binary);
-                return binary;
+                Path temp = Files.createTempFile(typstDir, "typst", ".tmp");
+                try {
+                    String sha256;
+                    try (OutputStream out = Files.newOutputStream(temp)) {
+                        sha256 = TypstManifest.sha256(is, out);
+                    }
+                    // Keep an identical existing copy; it may be running (and locked on Windows)
+                    TypstManifest existing = Files.isRegularFile(binary) ? TypstManifest.of(binary, TYPST_VERSION) : null;
+                    if (existing != null && existing.sha256().equals(sha256)) {
+                        return existing;
+                    }
+                    makeExecutable(temp);
+                    TypstManifest.moveAtomically(temp, binary);
+                    return TypstManifest.of(binary, TYPST_VERSION);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
             }
         }
         
         // If bundled binary not found, try to find system typst
         Path systemTypst = findSystemTypst();
         if (systemTypst != null) {
-            return systemTypst;
+            return TypstManifest.of(systemTypst, readVersion(systemTypst));
         }
         
         throw new IOException(
@@ -98,40 +616,69 @@ public class TypstRunner {
     }
     
     /**
-     * Find Typst in the system PATH.
+     * Find Typst in the system PATH by checking each directory, without starting a process.
      */
     private Path findSystemTypst() {
-        String[] commands = isWindows() 
-            ? new String[]{"where", "typst"}
-            : new String[]{"which", "typst"};
-        
-        try {
-            ProcessBuilder pb = new ProcessBuilder(commands);
-            pb.redirectErrorStream(true);
-            Process process = pb.start();
-            
-            String output = new String(process.getInputStream().readAllBytes()).trim();
-            boolean finished = process.waitFor(5, TimeUnit.SECONDS);
-            
-            if (finished && process.exitValue() == 0 && !output.isEmpty()) {
-                // Get the first line (in case there are multiple results)
-                String firstLine = output.split("\\r?\\n")[0].trim();
-                Path typstPath = Path.of(firstLine);
-                if (Files.exists(typstPath)) {
-                    return typstPath;
+        String path = System.getenv("PATH");
+        if (path == null) {
+            return null;
+        }
+        for (String dir : path.split(File.pathSeparator)) {
+            if (dir.isBlank()) {
+                continue;
+            }
+            try {
+                Path candidate = Path.of(dir.strip()).resolve(getTypstBinaryName());
+                if (Files.isRegularFile(candidate) && Files.isExecutable(candidate)) {
+                    return candidate.toAbsolutePath();
                 }
+            } catch (InvalidPathException e) {
+                // Skip malformed PATH entries
             }
-        } catch (Exception e) {
-            // Ignore and return null
         }
-        
         return null;
     }
     
     /**
-     * Get the application data directory for storing extracted binaries.
+     * Ask a system Typst for its version ("typst 0.12.0 (...)" becomes "0.12.0").
+     * Only runs when the manifest is written, never on warm runs.
+     */
+    private String readVersion(Path typst) {
+        Process process = null;
+        try {
+            process = new ProcessBuilder(typst.toString(), "--version").redirectErrorStream(true).start();
+            InputStream stdout = process.getInputStream();
+            // Read on a pipe thread so a hung binary cannot outlast the deadline
+            CompletableFuture<String> output = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return new String(stdout.readAllBytes(), StandardCharsets.UTF_8).trim();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, PIPES);
+            String version = output.get(5, TimeUnit.SECONDS);
+            if (process.waitFor(5, TimeUnit.SECONDS) && process.exitValue() == 0) {
+                String[] words = version.split("\\s+");
+                if (words.length > 1) {
+                    return words[1];
+                }
+            }
+        } catch (IOException | ExecutionException | TimeoutException e) {
+            // Fall through to unknown
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (process != null) {
+                destroyTree(process);
+            }
+        }
+        return "unknown";
+    }
+    
+    /**
+     * Get the application data directory for storing extracted binaries and caches.
      */
-    private Path getAppDataDir() {
+    public static Path getAppDataDir() {
         String os = System.getProperty("os.name").toLowerCase();
         String home = System.getProperty("user.home");
         
@@ -200,6 +747,9 @@ public class TypstRunner {
                 perms.add(PosixFilePermission.OWNER_EXECUTE);
                 perms.add(PosixFilePermission.GROUP_EXECUTE);
                 perms.add(PosixFilePermission.OTHERS_EXECUTE);
+                // Temporary files start out owner-only
+                perms.add(PosixFilePermission.GROUP_READ);
+                perms.add(PosixFilePermission.OTHERS_READ);
                 Files.setPosixFilePermissions(path, perms);
             }
         } catch (Exception e) {
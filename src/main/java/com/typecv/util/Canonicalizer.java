@@ -0,0 +1,96 @@
+package com.typecv.util;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Table of canonical instances of immutable values, so equal strings, lists and
+ * records parsed for different CVs are the same object in memory.
+ * <p>
+ * Values are held weakly: one drops out of the table once no CV refers to it, so
+ * the table never keeps a batch alive. Values seeded from static constants, such
+ * as the default design, stay canonical for the life of the process.
+ */
+final class Canonicalizer {
+    
+    private final Map<Object, WeakReference<Object>> table = new WeakHashMap<>();
+    
+    /**
+     * Get the canonical instance equal to a value, making the value canonical if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T canonical(T value) {
+        if (value == null) {
+            return null;
+        }
+        synchronized (table) {
+            WeakReference<Object> known = table.get(value);
+            Object canonical = known == null ? null : known.get();
+            if (canonical != null) {
+                return (T) canonical;
+            }
+            // Never store the key as a strong value, it would keep the entry alive forever
+            table.put(value, new WeakReference<>(value));
+            return value;
+        }
+    }
+    
+    /**
+     * Make a value and everything it contains canonical: the strings, lists and
+     * records inside a record or list first, then the value itself. A value whose
+     * parts were all canonical already is kept rather than copied.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T deep(T value) {
+        if (value instanceof String || value == null) {
+            return canonical(value);
+        }
+        if (!(value instanceof List<?>) && !(value instanceof Record)) {
+            return value;
+        }
+        T known = lookup(value);
+        if (known != null) {
+            return known;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> items = new ArrayList<>(list.size());
+            boolean changed = false;
+            for (Object item : list) {
+                Object part = deep(item);
+                changed |= part != item;
+                items.add(part);
+            }
+            return canonical(changed ? (T) Collections.unmodifiableList(items) : value);
+        }
+        RecordShape shape = RecordShape.of(value.getClass());
+        Object[] values = shape.values(value);
+        boolean changed = false;
+        for (int i = 0; i < values.length; i++) {
+            Object part = deep(values[i]);
+            changed |= part != values[i];
+            values[i] = part;
+        }
+        return canonical(changed ? (T) shape.create(values) : value);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T> T lookup(T value) {
+        synchronized (table) {
+            WeakReference<Object> known = table.get(value);
+            return known == null ? null : (T) known.get();
+        }
+    }
+    
+    /**
+     * Get the number of canonical values currently in the table.
+     */
+    int size() {
+        synchronized (table) {
+            return table.size();
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.typecv.util;
+
+import com.typecv.model.CV;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy reader of a feed of CVs: a multi-document YAML stream separated by
+ * {@code ---} lines, or JSON Lines with one CV per line.
+ * <p>
+ * The feed is split into records at the byte level, and each record is parsed by
+ * a fresh parser only when {@link #next()} reaches it, so only one record is held
+ * in memory however large the feed is. A record that fails to parse is returned
+ * as a {@link Result} carrying the error and its position; the following records
+ * are unaffected. Failing to read the input itself ends the feed with an
+ * {@link UncheckedIOException}.
+ * <p>
+ * A feed is not thread safe; close it to close the input.
+ */
+public final class CvFeed implements Iterator<CvFeed.Result>, Closeable {
+    
+    /**
+     * Layout of the records in a feed.
+     */
+    public enum Format {
+        /** YAML documents separated by {@code ---} (or ended by {@code ...}) lines. */
+        YAML,
+        /** One JSON object per line; blank lines are skipped. */
+        JSONL
+    }
+    
+    /**
+     * One record of the feed: the parsed CV, or the error that prevented parsing it.
+     *
+     * @param index Zero-based number of the record among the non-empty records of the feed
+     * @param offset Byte offset of the record's first line in the feed
+     * @param line One-based line number of the record's first line
+     * @param cv The parsed CV, or null on error
+     * @param error Why the record could not be parsed, or null
+     */
+    public record Result(int index, long offset, long line, CV cv, IOException error) {
+        
+        public boolean isValid() {
+            return error == null;
+        }
+        
+        @Override
+        public String toString() {
+            String position = "record " + index + " at byte " + offset + " (line " + line + ")";
+            return error == null ? position : position + ": " + error.getMessage();
+        }
+    }
+    
+    private static final int READ_BUFFER = 64 * 1024;
+    
+    private final YamlParser parser;
+    private final InputStream in;
+    private final Format format;
+    
+    private final byte[] buffer = new byte[READ_BUFFER];
+    private int bufferPos;
+    private int bufferEnd;
+    private boolean eof;
+    
+    /** Bytes of the current line, terminator included. */
+    private final ByteArrayOutputStream lineBytes = new ByteArrayOutputStream(256);
+    /** Bytes of the record being collected. */
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(4096);
+    private long position;
+    private long lineNumber;
+    
+    /** A line read past the end of the previous record, which starts the next one. */
+    private boolean pendingLine;
+    private int records;
+    private Result next;
+    
+    CvFeed(YamlParser parser, InputStream in, Format format) {
+        this.parser = parser;
+        this.in = in;
+        this.format = format;
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = readRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read CV feed", e);
+            }
+        }
+        return next != null;
+    }
+    
+    @Override
+    public Result next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Result result = next;
+        next = null;
+        return result;
+    }
+    
+    /**
+     * Get the remaining records as a sequential stream; closing the stream closes the feed.
+     */
+    public Stream<Result> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL),
+            false).onClose(() -> {
+                try {
+                    close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+    
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+    
+    /**
+     * Collect the lines of the next non-empty record and parse them.
+     */
+    private Result readRecord() throws IOException {
+        record.reset();
+        long startOffset = 0;
+        long startLine = 0;
+        boolean content = false;
+        // Lines before the first marker are directives or comments of the same document
+        boolean marker = false;
+        while (pendingLine || readLine()) {
+            pendingLine = false;
+            byte[] line = lineBytes.toByteArray();
+            long lineOffset = position - line.length;
+            if (format == Format.JSONL) {
+                if (!isBlank(line)) {
+                    record.write(line, 0, line.length);
+                    return parse(lineOffset, lineNumber);
+                }
+                continue;
+            }
+            
+            boolean start = startsWith(line, "---");
+            boolean end = startsWith(line, "...");
+            if (content && (start || end)) {
+                // The marker belongs to the next document, an end marker to none
+                pendingLine = start;
+                return parse(startOffset, startLine);
+            }
+            if (end) {
+                record.reset();
+                marker = false;
+                continue;
+            }
+            if (start && marker) {
+                // The document begun by the previous marker held no content
+                record.reset();
+            }
+            marker |= start;
+            if (record.size() == 0) {
+                startOffset = lineOffset;
+                startLine = lineNumber;
+            }
+            record.write(line, 0, line.length);
+            // Text after "---" on the marker line is part of the document
+            content |= isContent(line, start ? 3 : 0);
+        }
+        return content ? parse(startOffset, startLine) : null;
+    }
+    
+    private Result parse(long offset, long line) {
+        int index = records++;
+        try {
+            CV cv = parser.parseRecord(record.toByteArray(), format == Format.JSONL);
+            return new Result(index, offset, line, cv, null);
+        } catch (IOException e) {
+            return new Result(index, offset, line, null, e);
+        }
+    }
+    
+    /**
+     * Read the next line, terminator included, into {@link #lineBytes}.
+     *
+     * @return false at the end of the input
+     */
+    private boolean readLine() throws IOException {
+        lineBytes.reset();
+        while (true) {
+            if (bufferPos == bufferEnd) {
+                if (eof || (bufferEnd = in.read(buffer)) <= 0) {
+                    eof = true;
+                    bufferPos = bufferEnd = 0;
+                    break;
+                }
+                bufferPos = 0;
+            }
+            int start = bufferPos;
+            while (bufferPos < bufferEnd && buffer[bufferPos] != '\n') {
+                bufferPos++;
+            }
+            boolean complete = bufferPos < bufferEnd;
+            if (complete) {
+                bufferPos++;
+            }
+            lineBytes.write(buffer, start, bufferPos - start);
+            if (complete) {
+                break;
+            }
+        }
+        if (lineBytes.size() == 0) {
+            return false;
+        }
+        position += lineBytes.size();
+        lineNumber++;
+        return true;
+    }
+    
+    /**
+     * Check for a document marker: the text at the start of the line followed by whitespace or the line end.
+     */
+    private static boolean startsWith(byte[] line, String marker) {
+        if (line.length < marker.length()) {
+            return false;
+        }
+        for (int i = 0; i < marker.length(); i++) {
+            if (line[i] != marker.charAt(i)) {
+                return false;
+            }
+        }
+        return line.length == marker.length() || isWhitespace(line[marker.length()]);
+    }
+    
+    /**
+     * Check whether a YAML line holds document content from {@code from} on,
+     * rather than only blanks, a comment or a directive.
+     */
+    private static boolean isContent(byte[] line, int from) {
+        if (from == 0 && line.length > 0 && line[0] == '%') {
+            return false;
+        }
+        for (int i = from; i < line.length; i++) {
+            if (!isWhitespace(line[i])) {
+                return line[i] != '#';
+            }
+        }
+        return false;
+    }
+    
+    private static boolean isBlank(byte[] line) {
+        for (byte b : line) {
+            if (!isWhitespace(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+}
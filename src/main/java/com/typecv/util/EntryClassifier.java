@@ -0,0 +1,120 @@
+package com.typecv.util;
+
+import com.typecv.model.*;
+
+/**
+ * Decides which record a CV entry mapping becomes, from the keys it has.
+ * <p>
+ * Each discriminating key sets one bit, so a single pass over an entry's field
+ * names yields a mask, and a table built once from the rules below maps every
+ * possible mask to its type. Keys that decide nothing are ignored.
+ */
+final class EntryClassifier {
+    
+    static final int INSTITUTION = 1;
+    static final int COMPANY = 1 << 1;
+    static final int NAME = 1 << 2;
+    static final int LABEL = 1 << 3;
+    static final int TITLE = 1 << 4;
+    static final int DETAILS = 1 << 5;
+    static final int BULLET = 1 << 6;
+    static final int NUMBER = 1 << 7;
+    static final int REVERSED_NUMBER = 1 << 8;
+    static final int TEXT = 1 << 9;
+    
+    private static final Class<?>[] TYPES = new Class<?>[1 << 10];
+    
+    static {
+        for (int mask = 0; mask < TYPES.length; mask++) {
+            TYPES[mask] = decide(mask);
+        }
+    }
+    
+    private EntryClassifier() {
+    }
+    
+    /**
+     * Get the bit of a key, or 0 when the key does not help decide the type.
+     */
+    static int bit(String key) {
+        return switch (key) {
+            case "institution" -> INSTITUTION;
+            case "company" -> COMPANY;
+            case "name" -> NAME;
+            case "label" -> LABEL;
+            case "title" -> TITLE;
+            case "details" -> DETAILS;
+            case "bullet" -> BULLET;
+            case "number" -> NUMBER;
+            case "reversed_number" -> REVERSED_NUMBER;
+            case "text" -> TEXT;
+            default -> 0;
+        };
+    }
+    
+    /**
+     * Get the entry type of a mask of key bits. {@link TextEntry} means the entry's
+     * {@code text} value is the text; null means no rule matched.
+     */
+    @SuppressWarnings("unchecked")
+    static Class<? extends Entry> type(int mask) {
+        return (Class<? extends Entry>) TYPES[mask];
+    }
+    
+    /**
+     * The rules, in priority order.
+     */
+    private static Class<? extends Entry> decide(int mask) {
+        // EducationEntry: has "institution" field
+        if (has(mask, INSTITUTION)) {
+            return EducationEntry.class;
+        }
+        
+        // ExperienceEntry: has "company" field
+        if (has(mask, COMPANY)) {
+            return ExperienceEntry.class;
+        }
+        
+        // ProjectEntry: has "name" field with optional summary/highlights (but not "label")
+        // Must check before OneLineEntry since both could have "name"
+        if (has(mask, NAME) && !has(mask, LABEL)) {
+            return ProjectEntry.class;
+        }
+        
+        // PublicationEntry: has "title" field (for publications)
+        if (has(mask, TITLE)) {
+            return PublicationEntry.class;
+        }
+        
+        // OneLineEntry: has "label" and "details" fields
+        if (has(mask, LABEL | DETAILS)) {
+            return OneLineEntry.class;
+        }
+        
+        // BulletEntry: has "bullet" field
+        if (has(mask, BULLET)) {
+            return BulletEntry.class;
+        }
+        
+        // NumberedEntry: has "number" field
+        if (has(mask, NUMBER)) {
+            return NumberedEntry.class;
+        }
+        
+        // ReversedNumberedEntry: has "reversed_number" field
+        if (has(mask, REVERSED_NUMBER)) {
+            return ReversedNumberedEntry.class;
+        }
+        
+        // TextEntry: a simple object with text
+        if (has(mask, TEXT)) {
+            return TextEntry.class;
+        }
+        
+        return null;
+    }
+    
+    private static boolean has(int mask, int bits) {
+        return (mask & bits) == bits;
+    }
+}
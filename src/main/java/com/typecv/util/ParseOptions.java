@@ -0,0 +1,49 @@
+package com.typecv.util;
+
+import java.util.List;
+
+/**
+ * Parsing options for a {@link YamlParser}.
+ *
+ * @param sections Names of the sections to keep, in the order they should appear
+ *                 in {@code CvData.sections()}, or null for every section in file order
+ */
+public record ParseOptions(
+    List<String> sections
+) {
+    
+    /**
+     * Placeholder in a section list for the sections it does not name, in file order.
+     */
+    public static final String OTHER_SECTIONS = "*";
+    
+    public ParseOptions {
+        if (sections != null) {
+            sections = List.copyOf(sections);
+        }
+    }
+    
+    /**
+     * Create default options: every section, in file order.
+     */
+    public static ParseOptions defaults() {
+        return new ParseOptions(null);
+    }
+    
+    /**
+     * Keep only the named sections, in the given order. The entries of other
+     * sections are skipped token by token without being bound. {@link #OTHER_SECTIONS}
+     * keeps all unnamed sections at its position, so {@code ["skills", "*"]}
+     * moves skills to the front.
+     */
+    public ParseOptions withSections(List<String> sections) {
+        return new ParseOptions(sections);
+    }
+    
+    /**
+     * Check whether a section is parsed under these options.
+     */
+    public boolean includes(String section) {
+        return sections == null || sections.contains(section) || sections.contains(OTHER_SECTIONS);
+    }
+}
@@ -0,0 +1,96 @@
+package com.typecv.util;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+
+/**
+ * Component accessors and canonical constructor of a record type, resolved once per type.
+ */
+public final class RecordShape {
+    
+    private static final ClassValue<RecordShape> SHAPES = new ClassValue<>() {
+        @Override
+        protected RecordShape computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+    
+    private final Method[] accessors;
+    private final String[] names;
+    private final Constructor<?> constructor;
+    
+    private RecordShape(Method[] accessors, String[] names, Constructor<?> constructor) {
+        this.accessors = accessors;
+        this.names = names;
+        this.constructor = constructor;
+    }
+    
+    /**
+     * Get the shape of a record type.
+     */
+    public static RecordShape of(Class<?> type) {
+        return SHAPES.get(type);
+    }
+    
+    private static RecordShape resolve(Class<?> type) {
+        RecordComponent[] components = type.getRecordComponents();
+        Method[] accessors = new Method[components.length];
+        String[] names = new String[components.length];
+        Class<?>[] types = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            accessors[i] = components[i].getAccessor();
+            names[i] = components[i].getName();
+            types[i] = components[i].getType();
+        }
+        try {
+            return new RecordShape(accessors, names, type.getDeclaredConstructor(types));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("No canonical constructor for " + type.getName(), e);
+        }
+    }
+    
+    /**
+     * Get the number of components.
+     */
+    public int size() {
+        return accessors.length;
+    }
+    
+    /**
+     * Get the name of the component at an index in declaration order.
+     */
+    public String name(int index) {
+        return names[index];
+    }
+    
+    /**
+     * Get the component values of a record of this type, in declaration order.
+     */
+    public Object[] values(Object record) {
+        Object[] values = new Object[accessors.length];
+        for (int i = 0; i < values.length; i++) {
+            try {
+                values[i] = accessors[i].invoke(record);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Failed to read " + record.getClass().getSimpleName() + "."
+                    + accessors[i].getName(), e);
+            }
+        }
+        return values;
+    }
+    
+    /**
+     * Create a record of this type from component values in declaration order.
+     *
+     * @throws IllegalArgumentException if the values do not fit the components
+     */
+    public Object create(Object[] values) {
+        try {
+            return constructor.newInstance(values);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalArgumentException("Failed to create " + constructor.getDeclaringClass().getName(), e);
+        }
+    }
+}
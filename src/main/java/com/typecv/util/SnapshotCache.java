@@ -0,0 +1,244 @@
+package com.typecv.util;
+
+import com.typecv.model.CV;
+import com.typecv.renderer.TypstRunner;
+import com.typecv.theme.ThemeLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of parsed CVs, addressed by a hash of the YAML file bytes and the
+ * theme version.
+ * <p>
+ * An entry holds the fully resolved {@link CV} (theme merged, defaults applied) in
+ * the binary form of {@link SnapshotCodec}, so a warm parse reads the YAML file to
+ * hash it, reads one snapshot file and decodes it, without running Jackson or the
+ * theme loader. Entries live under {@code <dir>/<2 hex chars>/<sha256>.cv}; a
+ * snapshot that cannot be decoded counts as a miss and is replaced. A decoded CV
+ * goes through the parser's value sharing, so a hit has the same mutable lists
+ * and shared design, locale and strings as the CV a miss returns. Like
+ * {@link com.typecv.renderer.PdfCache}, entries are written through a temporary
+ * file and the least recently used ones are deleted to fit the byte budget.
+ */
+public class SnapshotCache {
+    
+    /**
+     * Default budget for {@link #openDefault()}.
+     */
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+    
+    private final YamlParser parser;
+    private final Path dir;
+    private final long maxBytes;
+    private final String themeVersion;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    
+    /**
+     * @param parser Parser used on a miss
+     * @param dir Cache directory
+     * @param maxBytes Total size of the snapshots kept
+     * @param themeVersion Identifies the built-in themes; snapshots of another version are never read
+     */
+    public SnapshotCache(YamlParser parser, Path dir, long maxBytes, String themeVersion) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+        }
+        this.parser = parser;
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        this.themeVersion = themeVersion;
+    }
+    
+    /**
+     * Open the cache in the application data directory with the shared parser,
+     * the default budget and the theme version of the running build.
+     */
+    public static SnapshotCache openDefault() {
+        return new SnapshotCache(YamlParser.shared(), TypstRunner.getAppDataDir().resolve("parse-cache"),
+            DEFAULT_MAX_BYTES, defaultThemeVersion());
+    }
+    
+    /**
+     * Fingerprint the code the built-in themes ship in: the jar or class file of the
+     * theme loader, or the native executable. A new build of TypeCV therefore never
+     * reads snapshots resolved against the themes of an older one.
+     */
+    static String defaultThemeVersion() {
+        Path code = null;
+        CodeSource source = ThemeLoader.class.getProtectionDomain().getCodeSource();
+        if (source != null && source.getLocation() != null) {
+            try {
+                code = Path.of(source.getLocation().toURI());
+                if (Files.isDirectory(code)) {
+                    code = code.resolve(ThemeLoader.class.getName().replace('.', '/') + ".class");
+                }
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                code = null;
+            }
+        }
+        if (code == null) {
+            code = ProcessHandle.current().info().command().map(Path::of).orElse(null);
+        }
+        if (code == null || !Files.isRegularFile(code)) {
+            return "unknown";
+        }
+        File file = code.toFile();
+        return file.getName() + " " + file.length() + " " + file.lastModified();
+    }
+    
+    /**
+     * Parse a CV from a YAML file, decoding the snapshot of an identical earlier
+     * parse when there is one and storing a new snapshot otherwise.
+     */
+    public CV parse(File file) throws IOException {
+        return parse(file, ParseOptions.defaults());
+    }
+    
+    /**
+     * Parse a CV from a YAML file with the given options; snapshots of other
+     * section selections are not reused.
+     */
+    public CV parse(File file, ParseOptions options) throws IOException {
+        byte[] yaml = Files.readAllBytes(file.toPath());
+        Path entry = entry(key(yaml, options));
+        
+        CV cv = read(entry);
+        if (cv != null) {
+            hits.incrementAndGet();
+            touch(entry);
+            return parser.share(cv);
+        }
+        misses.incrementAndGet();
+        cv = parser.parse(new ByteArrayInputStream(yaml), options);
+        write(entry, SnapshotCodec.encode(cv));
+        return cv;
+    }
+    
+    /**
+     * Compute the key of a YAML document under this cache's theme version.
+     */
+    String key(byte[] yaml, ParseOptions options) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(("theme " + themeVersion + "\0").getBytes(StandardCharsets.UTF_8));
+        if (options.sections() != null) {
+            digest.update(("sections " + String.join("\0", options.sections()) + "\0").getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(yaml);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    private static CV read(Path entry) {
+        byte[] snapshot;
+        try {
+            snapshot = Files.readAllBytes(entry);
+        } catch (IOException e) {
+            // Not cached, or evicted by another process in the meantime
+            return null;
+        }
+        try {
+            return SnapshotCodec.decode(snapshot) instanceof CV cv ? cv : null;
+        } catch (IOException e) {
+            // Written by another format version or damaged; parse again and replace it
+            return null;
+        }
+    }
+    
+    private void write(Path entry, byte[] snapshot) throws IOException {
+        Files.createDirectories(entry.getParent());
+        Path temp = Files.createTempFile(entry.getParent(), entry.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, snapshot);
+            try {
+                Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        evict();
+    }
+    
+    /**
+     * Delete the least recently used snapshots until the total size fits the budget.
+     */
+    private void evict() throws IOException {
+        record Entry(Path path, long size, long used) {
+        }
+        List<Entry> entries = new ArrayList<>();
+        long total = 0;
+        try (Stream<Path> files = Files.walk(dir, 2)) {
+            for (Path path : (Iterable<Path>) files.filter(p -> p.toString().endsWith(".cv"))::iterator) {
+                File file = path.toFile();
+                entries.add(new Entry(path, file.length(), file.lastModified()));
+                total += file.length();
+            }
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+        entries.sort(Comparator.comparingLong(Entry::used));
+        for (Entry entry : entries) {
+            if (total <= maxBytes) {
+                break;
+            }
+            Files.deleteIfExists(entry.path());
+            total -= entry.size();
+        }
+    }
+    
+    /**
+     * Get the number of parses served from a snapshot.
+     */
+    public long hits() {
+        return hits.get();
+    }
+    
+    /**
+     * Get the number of parses that ran the YAML parser.
+     */
+    public long misses() {
+        return misses.get();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("SnapshotCache[hits=%d, misses=%d]", hits(), misses());
+    }
+    
+    private Path entry(String key) {
+        return dir.resolve(key.substring(0, 2)).resolve(key + ".cv");
+    }
+    
+    private static void touch(Path entry) {
+        try {
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Evicted meanwhile; the hit was already served
+        }
+    }
+}
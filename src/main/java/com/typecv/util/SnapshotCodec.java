@@ -0,0 +1,314 @@
+package com.typecv.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of parsed model records for {@link SnapshotCache}.
+ * <p>
+ * A snapshot is a header followed by one tagged value. Records are written as
+ * their components in declaration order and rebuilt through the canonical
+ * constructor; lists and maps keep their order. Every distinct string and record
+ * type is written once and referred to by index afterwards, which makes the
+ * repeated dates, locations and highlight phrases of a CV cost a few bytes each.
+ * Only records of the model package are decoded.
+ */
+final class SnapshotCodec {
+    
+    /** "TCVS" followed by the format version. */
+    private static final int MAGIC = 0x54435653;
+    private static final int FORMAT = 1;
+    private static final String MODEL_PACKAGE = "com.typecv.model";
+    
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int STRING_REF = 2;
+    private static final int TRUE = 3;
+    private static final int FALSE = 4;
+    private static final int INT = 5;
+    private static final int LONG = 6;
+    private static final int DOUBLE = 7;
+    private static final int LIST = 8;
+    private static final int MAP = 9;
+    private static final int RECORD = 10;
+    private static final int RECORD_REF = 11;
+    
+    private SnapshotCodec() {
+    }
+    
+    /**
+     * Encode a value made of model records, strings, numbers, booleans, lists and maps.
+     *
+     * @throws IllegalArgumentException if the value contains any other type
+     */
+    static byte[] encode(Object value) {
+        Writer writer = new Writer();
+        writer.writeInt(MAGIC);
+        writer.writeVarint(FORMAT);
+        writer.write(value);
+        return writer.out.toByteArray();
+    }
+    
+    /**
+     * Decode a snapshot produced by {@link #encode(Object)}.
+     *
+     * @throws IOException if the data is truncated, from another format version or names an unexpected type
+     */
+    static Object decode(byte[] data) throws IOException {
+        Reader reader = new Reader(data);
+        try {
+            if (reader.readInt() != MAGIC || reader.readVarint() != FORMAT) {
+                throw new IOException("Not a snapshot of format " + FORMAT);
+            }
+            Object value = reader.read();
+            if (reader.pos != data.length) {
+                throw new IOException("Trailing bytes after snapshot");
+            }
+            return value;
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Truncated snapshot", e);
+        }
+    }
+    
+    private static final class Writer {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Map<Class<?>, Integer> types = new HashMap<>();
+        
+        void write(Object value) {
+            if (value == null) {
+                out.write(NULL);
+            } else if (value instanceof String text) {
+                writeString(text);
+            } else if (value instanceof Boolean flag) {
+                out.write(flag ? TRUE : FALSE);
+            } else if (value instanceof Integer number) {
+                out.write(INT);
+                writeVarint(zigzag(number));
+            } else if (value instanceof Long number) {
+                out.write(LONG);
+                writeVarint(zigzag(number));
+            } else if (value instanceof Double number) {
+                out.write(DOUBLE);
+                writeLong(Double.doubleToRawLongBits(number));
+            } else if (value instanceof List<?> list) {
+                out.write(LIST);
+                writeVarint(list.size());
+                for (Object item : list) {
+                    write(item);
+                }
+            } else if (value instanceof Map<?, ?> map) {
+                out.write(MAP);
+                writeVarint(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    write(entry.getKey());
+                    write(entry.getValue());
+                }
+            } else if (value instanceof Record record) {
+                writeRecord(record);
+            } else {
+                throw new IllegalArgumentException("Cannot snapshot " + value.getClass().getName());
+            }
+        }
+        
+        private void writeRecord(Record record) {
+            Class<?> type = record.getClass();
+            RecordShape shape = RecordShape.of(type);
+            Integer index = types.get(type);
+            if (index != null) {
+                out.write(RECORD_REF);
+                writeVarint(index);
+            } else {
+                types.put(type, types.size());
+                out.write(RECORD);
+                writeString(type.getName());
+                writeVarint(shape.size());
+            }
+            for (Object component : shape.values(record)) {
+                write(component);
+            }
+        }
+        
+        private void writeString(String text) {
+            Integer index = strings.get(text);
+            if (index != null) {
+                out.write(STRING_REF);
+                writeVarint(index);
+                return;
+            }
+            strings.put(text, strings.size());
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            out.write(STRING);
+            writeVarint(bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+        
+        void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+        
+        void writeInt(int value) {
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                out.write(value >>> shift);
+            }
+        }
+        
+        private void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) (value >>> shift));
+            }
+        }
+        
+        private static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+    
+    private static final class Reader {
+        private final byte[] data;
+        private final List<String> strings = new ArrayList<>();
+        private final List<RecordShape> types = new ArrayList<>();
+        private int pos;
+        
+        Reader(byte[] data) {
+            this.data = data;
+        }
+        
+        Object read() throws IOException {
+            int tag = data[pos++];
+            return switch (tag) {
+                case NULL -> null;
+                case STRING, STRING_REF -> readString(tag);
+                case TRUE -> Boolean.TRUE;
+                case FALSE -> Boolean.FALSE;
+                case INT -> (int) unzigzag(readVarint());
+                case LONG -> unzigzag(readVarint());
+                case DOUBLE -> Double.longBitsToDouble(readLong());
+                case LIST -> {
+                    int size = readSize();
+                    List<Object> list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        list.add(read());
+                    }
+                    yield list;
+                }
+                case MAP -> {
+                    int size = readSize();
+                    Map<Object, Object> map = new LinkedHashMap<>();
+                    for (int i = 0; i < size; i++) {
+                        map.put(read(), read());
+                    }
+                    yield map;
+                }
+                case RECORD, RECORD_REF -> readRecord(tag);
+                default -> throw new IOException("Unknown snapshot tag " + tag + " at offset " + (pos - 1));
+            };
+        }
+        
+        private Object readRecord(int tag) throws IOException {
+            RecordShape shape;
+            if (tag == RECORD_REF) {
+                shape = types.get(readSize());
+            } else {
+                String name = readString(data[pos++]);
+                shape = RecordShape.of(modelRecord(name));
+                if (readSize() != shape.size()) {
+                    throw new IOException("Snapshot does not match the components of " + name);
+                }
+                types.add(shape);
+            }
+            Object[] values = new Object[shape.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = read();
+            }
+            try {
+                return shape.create(values);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Snapshot does not match its record type", e);
+            }
+        }
+        
+        private String readString(int tag) throws IOException {
+            if (tag == STRING_REF) {
+                return strings.get(readSize());
+            }
+            if (tag != STRING) {
+                throw new IOException("Expected a string at offset " + (pos - 1));
+            }
+            int length = readSize();
+            String text = new String(data, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            strings.add(text);
+            return text;
+        }
+        
+        private int readSize() throws IOException {
+            long size = readVarint();
+            if (size > data.length) {
+                throw new IOException("Corrupt snapshot length " + size);
+            }
+            return (int) size;
+        }
+        
+        long readVarint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = data[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Corrupt varint at offset " + pos);
+        }
+        
+        int readInt() {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | (data[pos++] & 0xFF);
+            }
+            return value;
+        }
+        
+        private long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (data[pos++] & 0xFF);
+            }
+            return value;
+        }
+        
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+    
+    /**
+     * Resolve a record type named by a snapshot, refusing anything outside the model.
+     */
+    private static Class<?> modelRecord(String name) throws IOException {
+        if (!name.startsWith(MODEL_PACKAGE + ".")) {
+            throw new IOException("Snapshot names a type outside the model: " + name);
+        }
+        Class<?> type;
+        try {
+            type = Class.forName(name, false, SnapshotCodec.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Snapshot names an unknown type: " + name, e);
+        }
+        if (!type.isRecord()) {
+            throw new IOException("Snapshot names a type that is not a record: " + name);
+        }
+        return type;
+    }
+}
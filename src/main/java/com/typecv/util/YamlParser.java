@@ -1,274 +1,526 @@
 package com.typecv.util;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.typecv.model.*;
 import com.typecv.theme.ThemeLoader;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * YAML parser for CV files using Jackson.
  * Handles polymorphic deserialization of Entry types.
+ * <p>
+ * The mapper is configured and an immutable {@link ObjectReader} is built for every
+ * record type when the parser is created, so Jackson's introspection runs once and
+ * a parser can be shared between threads. Use {@link #shared()} in batch or server
+ * processes instead of creating a parser per CV.
+ * <p>
+ * Equal values are shared between the CVs a parser returns: the resolved design
+ * and locale (the built-in defaults are single instances) and the strings of
+ * {@link #CANONICAL_PROPERTIES}, so a batch of parsed CVs keeps one copy of each.
+ * The table holds values weakly and forgets them with the last CV that uses them.
  */
 public class YamlParser {
     
+    /**
+     * Entry and social network properties whose values repeat across CVs (names of
+     * institutions and companies, places, dates such as "present"). Their strings
+     * are shared through the parser's canonical table as they are bound.
+     */
+    static final Set<String> CANONICAL_PROPERTIES = Set.of("institution", "company", "position", "area", "degree",
+        "location", "date", "start_date", "end_date", "network");
+    
+    /**
+     * Record component names of {@link #CANONICAL_PROPERTIES}, "startDate" for "start_date".
+     */
+    private static final Set<String> CANONICAL_COMPONENTS = componentNames(CANONICAL_PROPERTIES);
+    
     private final ObjectMapper mapper;
+    private final ObjectReader designReader;
+    private final ObjectReader localeReader;
+    private final ObjectReader socialNetworkReader;
+    private final Map<Class<? extends Entry>, ObjectReader> entryReaders;
+    private final JsonFactory jsonFactory;
+    private final ThemeLoader themeLoader = new ThemeLoader();
+    private final Canonicalizer canonicalizer;
     
     public YamlParser() {
+        this(true);
+    }
+    
+    /**
+     * @param canonical Share equal values between the CVs this parser returns (see {@link #CANONICAL_PROPERTIES})
+     */
+    YamlParser(boolean canonical) {
         this.mapper = new ObjectMapper(new YAMLFactory());
         mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         
         // Register custom deserializer for Entry types
         SimpleModule module = new SimpleModule();
         module.addDeserializer(Entry.class, new EntryDeserializer());
+        if (canonical) {
+            this.canonicalizer = new Canonicalizer();
+            // The built-in defaults are the canonical form of themselves
+            canonicalizer.deep(Design.defaults());
+            canonicalizer.deep(Locale.defaults());
+            module.addDeserializer(String.class, new CanonicalStringDeserializer(false));
+        } else {
+            this.canonicalizer = null;
+        }
         mapper.registerModule(module);
+        
+        // Readers resolve their deserializer up front and never change afterwards
+        this.designReader = mapper.readerFor(Design.class);
+        this.localeReader = mapper.readerFor(Locale.class);
+        this.socialNetworkReader = mapper.readerFor(SocialNetwork.class);
+        Map<Class<? extends Entry>, ObjectReader> readers = new HashMap<>();
+        for (Class<? extends Entry> type : List.of(EducationEntry.class, ExperienceEntry.class, ProjectEntry.class,
+                PublicationEntry.class, OneLineEntry.class, BulletEntry.class, NumberedEntry.class,
+                ReversedNumberedEntry.class)) {
+            readers.put(type, mapper.readerFor(type));
+        }
+        this.entryReaders = Map.copyOf(readers);
+        
+        // JSON Lines feeds bind through the same mapper
+        this.jsonFactory = new JsonFactory(mapper);
+    }
+    
+    /**
+     * Get the process-wide parser instance, created on first use.
+     */
+    public static YamlParser shared() {
+        return SharedHolder.INSTANCE;
+    }
+    
+    private static final class SharedHolder {
+        private static final YamlParser INSTANCE = new YamlParser();
     }
     
     /**
      * Parse a CV from a YAML file.
      */
     public CV parse(File file) throws IOException {
-        JsonNode root = mapper.readTree(file);
-        return parseFromNode(root);
+        return parse(file, ParseOptions.defaults());
+    }
+    
+    /**
+     * Parse a CV from a YAML file with the given options.
+     */
+    public CV parse(File file, ParseOptions options) throws IOException {
+        try (JsonParser parser = mapper.createParser(file)) {
+            return parseDocument(parser, options);
+        }
     }
     
     /**
      * Parse a CV from an InputStream.
      */
     public CV parse(InputStream inputStream) throws IOException {
-        JsonNode root = mapper.readTree(inputStream);
-        return parseFromNode(root);
+        return parse(inputStream, ParseOptions.defaults());
+    }
+    
+    /**
+     * Parse a CV from an InputStream with the given options.
+     */
+    public CV parse(InputStream inputStream, ParseOptions options) throws IOException {
+        try (JsonParser parser = mapper.createParser(inputStream)) {
+            return parseDocument(parser, options);
+        }
     }
     
     /**
      * Parse a CV from a YAML string.
      */
     public CV parseString(String yaml) throws IOException {
-        JsonNode root = mapper.readTree(yaml);
-        return parseFromNode(root);
+        try (JsonParser parser = mapper.createParser(yaml)) {
+            return parseDocument(parser, ParseOptions.defaults());
+        }
     }
     
-    private CV parseFromNode(JsonNode root) throws IOException {
-        // Parse cv section
-        CvData cvData = parseCvData(root.get("cv"));
-        
-        // Parse design section with theme support
-        Design design = parseDesignWithTheme(root);
+    /**
+     * Open a feed of CVs: JSON Lines for files ending in {@code .jsonl} or
+     * {@code .ndjson}, a multi-document YAML stream otherwise.
+     */
+    public CvFeed feed(File file) throws IOException {
+        String name = file.getName();
+        CvFeed.Format format = name.endsWith(".jsonl") || name.endsWith(".ndjson")
+            ? CvFeed.Format.JSONL
+            : CvFeed.Format.YAML;
+        return feed(new FileInputStream(file), format);
+    }
+    
+    /**
+     * Open a feed of CVs read lazily from a stream, which the feed closes.
+     */
+    public CvFeed feed(InputStream inputStream, CvFeed.Format format) {
+        return new CvFeed(this, inputStream, format);
+    }
+    
+    /**
+     * Parse one record of a feed.
+     */
+    CV parseRecord(byte[] record, boolean json) throws IOException {
+        try (JsonParser parser = json ? jsonFactory.createParser(record) : mapper.createParser(record)) {
+            return parseDocument(parser, ParseOptions.defaults());
+        }
+    }
+    
+    /**
+     * Parse the document from the token stream, binding each record straight from
+     * the parser instead of building a tree of the whole file first.
+     */
+    private CV parseDocument(JsonParser parser, ParseOptions options) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw MismatchedInputException.from(parser, CV.class, "Expected a mapping at the root of the CV");
+        }
         
-        // Parse locale section (optional)
+        CvData cvData = null;
+        boolean hasDesign = false;
+        Design userDesign = null;
         Locale locale = null;
-        if (root.has("locale")) {
-            locale = mapper.treeToValue(root.get("locale"), Locale.class);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "cv" -> cvData = parseCvData(parser, options);
+                case "design" -> {
+                    hasDesign = true;
+                    userDesign = designReader.readValue(parser);
+                }
+                case "locale" -> locale = localeReader.readValue(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        if (cvData == null) {
+            throw MismatchedInputException.from(parser, CV.class, "Missing 'cv' section");
+        }
+        
+        // Parse design section with theme support
+        Design design = resolveTheme(hasDesign, userDesign);
+        if (canonicalizer != null) {
+            // Most CVs of a batch share a theme, and often every setting of it
+            design = canonicalizer.deep(design);
+            locale = canonicalizer.deep(locale);
         }
         
         return new CV(cvData, design, locale).withDefaults();
     }
     
     /**
-     * Parse design section with theme loading support.
+     * Apply theme loading to the design section.
      * If a theme is specified, load theme defaults and merge with user overrides.
      */
-    private Design parseDesignWithTheme(JsonNode root) throws IOException {
-        ThemeLoader themeLoader = new ThemeLoader();
-        
-        if (!root.has("design")) {
+    private Design resolveTheme(boolean hasDesign, Design userDesign) throws IOException {
+        if (!hasDesign) {
             // No design specified, use classic theme defaults
             return themeLoader.loadThemeDefaults("classic");
         }
         
-        JsonNode designNode = root.get("design");
-        
         // Get the theme name (default to "classic")
         String themeName = "classic";
-        if (designNode.has("theme")) {
-            themeName = designNode.get("theme").asText();
+        if (userDesign != null && userDesign.theme() != null) {
+            themeName = userDesign.theme();
         }
         
-        // Parse user's design overrides
-        Design userDesign = mapper.treeToValue(designNode, Design.class);
-        
         // Load theme defaults and merge with user overrides
         return themeLoader.loadTheme(themeName, userDesign);
     }
     
-    private CvData parseCvData(JsonNode cvNode) throws IOException {
-        String name = getTextOrNull(cvNode, "name");
-        String headline = getTextOrNull(cvNode, "headline");
-        String location = getTextOrNull(cvNode, "location");
-        String email = getTextOrNull(cvNode, "email");
-        String photo = getTextOrNull(cvNode, "photo");
-        String phone = getTextOrNull(cvNode, "phone");
-        String website = getTextOrNull(cvNode, "website");
-        
-        // Parse social networks
-        List<SocialNetwork> socialNetworks = new ArrayList<>();
-        if (cvNode.has("social_networks") && cvNode.get("social_networks").isArray()) {
-            for (JsonNode snNode : cvNode.get("social_networks")) {
-                socialNetworks.add(mapper.treeToValue(snNode, SocialNetwork.class));
-            }
+    private CvData parseCvData(JsonParser parser, ParseOptions options) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw MismatchedInputException.from(parser, CvData.class, "Expected a mapping for 'cv'");
         }
         
-        // Parse sections with polymorphic entry detection
+        String name = null;
+        String headline = null;
+        String location = null;
+        String email = null;
+        String photo = null;
+        String phone = null;
+        String website = null;
+        List<SocialNetwork> socialNetworks = new ArrayList<>();
         Map<String, List<Object>> sections = new LinkedHashMap<>();
-        if (cvNode.has("sections")) {
-            JsonNode sectionsNode = cvNode.get("sections");
-            sectionsNode.fieldNames().forEachRemaining(sectionName -> {
-                try {
-                    List<Object> entries = parseSectionEntries(sectionsNode.get(sectionName));
-                    sections.put(sectionName, entries);
-                } catch (IOException e) {
-                    throw new RuntimeException("Failed to parse section: " + sectionName, e);
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "name" -> name = textOrNull(parser);
+                case "headline" -> headline = textOrNull(parser);
+                case "location" -> location = textOrNull(parser);
+                case "email" -> email = textOrNull(parser);
+                case "photo" -> photo = textOrNull(parser);
+                case "phone" -> phone = textOrNull(parser);
+                case "website" -> website = textOrNull(parser);
+                case "social_networks" -> {
+                    if (parser.currentToken() == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            socialNetworks.add(socialNetworkReader.readValue(parser));
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "sections" -> {
+                    // Parse sections with polymorphic entry detection
+                    if (parser.currentToken() != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        break;
+                    }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String sectionName = parser.currentName();
+                        parser.nextToken();
+                        if (!options.includes(sectionName)) {
+                            parser.skipChildren();
+                            continue;
+                        }
+                        try {
+                            sections.put(sectionName, parseSectionEntries(parser));
+                        } catch (IOException e) {
+                            throw new IOException("Failed to parse section: " + sectionName, e);
+                        }
+                    }
                 }
-            });
+                default -> parser.skipChildren();
+            }
         }
         
+        if (options.sections() != null) {
+            sections = order(sections, options.sections());
+        }
         return new CvData(name, headline, location, email, photo, phone, website, socialNetworks, sections);
     }
     
-    private List<Object> parseSectionEntries(JsonNode entriesNode) throws IOException {
+    /**
+     * Arrange parsed sections in the order of a section list, expanding
+     * {@link ParseOptions#OTHER_SECTIONS} to the unnamed ones in file order.
+     */
+    private static Map<String, List<Object>> order(Map<String, List<Object>> parsed, List<String> names) {
+        Map<String, List<Object>> ordered = new LinkedHashMap<>();
+        for (String name : names) {
+            if (name.equals(ParseOptions.OTHER_SECTIONS)) {
+                for (Map.Entry<String, List<Object>> section : parsed.entrySet()) {
+                    if (!names.contains(section.getKey())) {
+                        ordered.put(section.getKey(), section.getValue());
+                    }
+                }
+            } else if (parsed.containsKey(name)) {
+                ordered.put(name, parsed.get(name));
+            }
+        }
+        return ordered;
+    }
+    
+    private List<Object> parseSectionEntries(JsonParser parser) throws IOException {
         List<Object> entries = new ArrayList<>();
         
-        if (!entriesNode.isArray()) {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
             return entries;
         }
         
-        for (JsonNode entryNode : entriesNode) {
-            Entry entry = parseEntry(entryNode);
-            entries.add(entry);
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            entries.add(parseEntry(parser));
         }
         
         return entries;
     }
     
-    private Entry parseEntry(JsonNode node) throws IOException {
-        // Detect entry type based on fields present
-        if (node.isTextual()) {
+    /**
+     * Read one entry starting at the parser's current token.
+     * <p>
+     * The type of a mapping depends on which keys it has, which is only known at its
+     * end, so its tokens are buffered (without building a tree) while
+     * {@link EntryClassifier} bits are collected, then bound to the detected record
+     * from the buffer. {@link EntryDeserializer} reads entries the same way.
+     */
+    private Entry parseEntry(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
             // Plain string -> TextEntry
-            return new TextEntry(node.asText());
+            return new TextEntry(parser.getText());
         }
-        
-        // EducationEntry: has "institution" field
-        if (node.has("institution")) {
-            return mapper.treeToValue(node, EducationEntry.class);
+        if (token == JsonToken.START_ARRAY) {
+            return new TextEntry(mapper.readTree(parser).toString());
         }
-        
-        // ExperienceEntry: has "company" field
-        if (node.has("company")) {
-            return mapper.treeToValue(node, ExperienceEntry.class);
+        if (token != JsonToken.START_OBJECT) {
+            // Other scalars keep their YAML spelling
+            return new TextEntry(parser.getText());
         }
         
-        // ProjectEntry: has "name" field with optional summary/highlights (but not "label")
-        // Must check before OneLineEntry since both could have "name"
-        if (node.has("name") && !node.has("label")) {
-            return mapper.treeToValue(node, ProjectEntry.class);
+        int mask = 0;
+        String text = null;
+        TokenBuffer buffer = new TokenBuffer(parser);
+        buffer.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.currentName();
+            int bit = EntryClassifier.bit(key);
+            mask |= bit;
+            buffer.writeFieldName(key);
+            parser.nextToken();
+            if (bit == EntryClassifier.TEXT) {
+                // Scalars as spelled (null reads "null"), mappings and lists as ""
+                text = parser.currentToken().isScalarValue() ? parser.getText() : "";
+            }
+            buffer.copyCurrentStructure(parser);
         }
+        buffer.writeEndObject();
         
-        // PublicationEntry: has "title" field (for publications)
-        if (node.has("title")) {
-            return mapper.treeToValue(node, PublicationEntry.class);
+        Class<? extends Entry> type = EntryClassifier.type(mask);
+        if (type == TextEntry.class) {
+            return new TextEntry(text);
         }
-        
-        // OneLineEntry: has "label" and "details" fields
-        if (node.has("label") && node.has("details")) {
-            return mapper.treeToValue(node, OneLineEntry.class);
+        try (JsonParser entry = buffer.asParser()) {
+            if (type != null) {
+                return entryReaders.get(type).readValue(entry);
+            }
+            // Fallback: convert to string representation
+            return new TextEntry(mapper.readTree(entry).toString());
         }
-        
-        // BulletEntry: has "bullet" field
-        if (node.has("bullet")) {
-            return mapper.treeToValue(node, BulletEntry.class);
+    }
+    
+    /**
+     * Read a scalar as text, or null for a YAML null. Mappings and lists read as "".
+     */
+    private static String textOrNull(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
         }
-        
-        // NumberedEntry: has "number" field
-        if (node.has("number")) {
-            return mapper.treeToValue(node, NumberedEntry.class);
+        if (token.isScalarValue()) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return "";
+    }
+    
+    /**
+     * Share the values of a CV that was not bound by this parser, such as a decoded
+     * snapshot, the way parsing shares them: the design, the locale and the strings
+     * of {@link #CANONICAL_PROPERTIES} in entries and social networks. The CV's own
+     * section and social network lists are updated in place.
+     */
+    CV share(CV cv) {
+        if (canonicalizer == null) {
+            return cv;
+        }
+        CvData data = cv.cv();
+        if (data.socialNetworks() != null) {
+            data.socialNetworks().replaceAll(this::shareComponents);
+        }
+        if (data.sections() != null) {
+            for (List<Object> entries : data.sections().values()) {
+                entries.replaceAll(this::shareComponents);
+            }
+        }
+        return new CV(data, canonicalizer.deep(cv.design()), canonicalizer.deep(cv.locale()));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T> T shareComponents(T value) {
+        if (!(value instanceof Record)) {
+            return value;
+        }
+        RecordShape shape = RecordShape.of(value.getClass());
+        Object[] values = shape.values(value);
+        boolean changed = false;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof String text && CANONICAL_COMPONENTS.contains(shape.name(i))) {
+                values[i] = canonicalizer.canonical(text);
+                changed |= values[i] != text;
+            }
+        }
+        return changed ? (T) shape.create(values) : value;
+    }
+    
+    private static Set<String> componentNames(Set<String> properties) {
+        Set<String> names = new HashSet<>();
+        for (String property : properties) {
+            StringBuilder name = new StringBuilder();
+            for (int i = 0; i < property.length(); i++) {
+                char c = property.charAt(i);
+                if (c == '_' && i + 1 < property.length()) {
+                    name.append(Character.toUpperCase(property.charAt(++i)));
+                } else {
+                    name.append(c);
+                }
+            }
+            names.add(name.toString());
         }
+        return Set.copyOf(names);
+    }
+    
+    /**
+     * String deserializer that replaces values of {@link #CANONICAL_PROPERTIES} with
+     * their canonical instance. Jackson asks for a contextual instance per property.
+     */
+    private class CanonicalStringDeserializer extends StringDeserializer implements ContextualDeserializer {
+        private final boolean canonical;
         
-        // ReversedNumberedEntry: has "reversed_number" field
-        if (node.has("reversed_number")) {
-            return mapper.treeToValue(node, ReversedNumberedEntry.class);
+        CanonicalStringDeserializer(boolean canonical) {
+            this.canonical = canonical;
         }
         
-        // Default to TextEntry if it's a simple object with text
-        if (node.has("text")) {
-            return new TextEntry(node.get("text").asText());
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {
+            boolean wanted = property != null && CANONICAL_PROPERTIES.contains(property.getName());
+            return wanted == canonical ? this : new CanonicalStringDeserializer(wanted);
         }
         
-        // Fallback: convert to string representation
-        return new TextEntry(node.toString());
-    }
-    
-    private String getTextOrNull(JsonNode node, String field) {
-        if (node.has(field) && !node.get(field).isNull()) {
-            return node.get(field).asText();
+        @Override
+        public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String value = super.deserialize(p, ctxt);
+            return canonical ? canonicalizer.canonical(value) : value;
         }
-        return null;
     }
     
     /**
      * Custom deserializer for Entry interface.
      */
-    private static class EntryDeserializer extends JsonDeserializer<Entry> {
+    private class EntryDeserializer extends JsonDeserializer<Entry> {
         @Override
         public Entry deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-            JsonNode node = p.getCodec().readTree(p);
-            ObjectMapper mapper = (ObjectMapper) p.getCodec();
-            
-            if (node.isTextual()) {
-                return new TextEntry(node.asText());
-            }
-            
-            if (node.has("institution")) {
-                return mapper.treeToValue(node, EducationEntry.class);
-            }
-            
-            if (node.has("company")) {
-                return mapper.treeToValue(node, ExperienceEntry.class);
-            }
-            
-            if (node.has("name") && !node.has("label")) {
-                return mapper.treeToValue(node, ProjectEntry.class);
-            }
-            
-            if (node.has("title")) {
-                return mapper.treeToValue(node, PublicationEntry.class);
-            }
-            
-            if (node.has("label") && node.has("details")) {
-                return mapper.treeToValue(node, OneLineEntry.class);
-            }
-            
-            if (node.has("bullet")) {
-                return mapper.treeToValue(node, BulletEntry.class);
-            }
-            
-            if (node.has("number")) {
-                return mapper.treeToValue(node, NumberedEntry.class);
-            }
-            
-            if (node.has("reversed_number")) {
-                return mapper.treeToValue(node, ReversedNumberedEntry.class);
-            }
-            
-            return new TextEntry(node.toString());
+            return parseEntry(p);
+        }
+        
+        /**
+         * Classify by keys here too, instead of the deduction declared on {@link Entry}.
+         */
+        @Override
+        public Entry deserializeWithType(JsonParser p, DeserializationContext ctxt, TypeDeserializer typeDeserializer)
+                throws IOException {
+            return deserialize(p, ctxt);
         }
     }
     
     /**
-     * Get the ObjectMapper for direct use.
+     * Get the ObjectMapper for direct use. Every parse of this parser uses it, so
+     * change the configuration of a {@link ObjectMapper#copy()} instead.
      */
     public ObjectMapper getMapper() {
         return mapper;
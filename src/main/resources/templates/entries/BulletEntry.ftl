@@ -1,3 +1,3 @@
-#bullet-item[${escapeTypst(entry.bullet())}]
+#bullet-item[${entry.bullet()!}]
 #v(${design.sections.spaceBetweenTextBasedEntries})
 
@@ -0,0 +1,3 @@
+*${entry.label()!}:* ${entry.details()!}
+#v(${design.sections.spaceBetweenTextBasedEntries})
+
@@ -0,0 +1,19 @@
+#entry-header(
+  [*${entry.name()!}*],
+  [<#if entry.location()?? && entry.location() != "">${entry.location()}\ </#if>
+<#if entry.date()?? && entry.date() != "">${entry.date()}<#elseif entry.startDate()?? && entry.endDate()??>${entry.startDate()} -- ${entry.endDate()}</#if>],
+)
+<#if entry.summary()?? && entry.summary() != "">
+#v(${design.entries.summary.spaceAbove})
+#h(${design.entries.summary.spaceLeft})${entry.summary()}
+</#if>
+<#if entry.highlights()?? && (entry.highlights()?size > 0)>
+#v(${design.entries.highlights.spaceAbove})
+<#list entry.highlights() as highlight>
+#bullet-item[${highlight!}]
+<#if highlight_has_next>#v(${design.entries.highlights.spaceBetweenItems})</#if>
+</#list>
+</#if>
+
+#v(${design.sections.spaceBetweenRegularEntries})
+
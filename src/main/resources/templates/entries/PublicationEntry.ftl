@@ -0,0 +1,14 @@
+#entry-header(
+  [*${entry.title()!}*<#if entry.authors()?? && (entry.authors()?size > 0)> \
+${entry.authors()?join(", ")}</#if><#if entry.journal()?? && entry.journal() != ""> \
+_${entry.journal()}_</#if>],
+  [${entry.date()!}],
+)
+<#if entry.doi()?? && entry.doi() != "">
+#link("https://doi.org/${entry.doi()}")[${escapeTypst(entry.doi())}]
+<#elseif entry.url()?? && entry.url() != "">
+#link("${entry.url()}")[${escapeTypst(entry.url())}]
+</#if>
+
+#v(${design.sections.spaceBetweenRegularEntries})
+
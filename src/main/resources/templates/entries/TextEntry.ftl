@@ -1,3 +1,3 @@
-${escapeTypst(entry.text())}
+${entry.text()!}
 #v(${design.sections.spaceBetweenTextBasedEntries})
 
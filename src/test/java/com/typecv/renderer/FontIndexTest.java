@@ -0,0 +1,104 @@
+package com.typecv.renderer;
+
+import com.typecv.model.Design;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FontIndexTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void testReadsFamilyFromNameTable() throws Exception {
+        Path font = tempDir.resolve("arial.ttf");
+        Files.write(font, font("Arial"));
+        Path broken = tempDir.resolve("broken.ttf");
+        Files.writeString(broken, "not a font");
+        
+        assertEquals(Set.of("Arial"), FontIndex.readFamilies(font));
+        assertEquals(Set.of(), FontIndex.readFamilies(broken));
+    }
+    
+    @Test
+    void testLinksOnlyWantedFamilies() throws Exception {
+        Path system = Files.createDirectories(tempDir.resolve("system/truetype"));
+        Files.write(system.resolve("arial.ttf"), font("Arial"));
+        Files.write(system.resolve("other.ttf"), font("Other Sans"));
+        FontIndex index = new FontIndex(tempDir.resolve("index"), List.of(tempDir.resolve("system")));
+        
+        Path fontDir = index.prepare(Design.defaults());
+        assertNotNull(fontDir);
+        try (var files = Files.list(fontDir)) {
+            assertEquals(List.of("arial.ttf"), files.map(f -> f.getFileName().toString()).toList());
+        }
+        // A warm call reuses the directory instead of scanning again
+        assertEquals(fontDir, index.prepare(Design.defaults()));
+    }
+    
+    @Test
+    void testRebuildKeepsRecentlyUsedDirectories() throws Exception {
+        Path system = Files.createDirectories(tempDir.resolve("system/truetype"));
+        Files.write(system.resolve("arial.ttf"), font("Arial"));
+        FontIndex index = new FontIndex(tempDir.resolve("index"), List.of(tempDir.resolve("system")));
+        Path used = index.prepare(Design.defaults());
+        Path stale = Files.createDirectories(tempDir.resolve("index/fonts-0"));
+        Files.setLastModifiedTime(stale, FileTime.fromMillis(System.currentTimeMillis() - 2 * FontIndex.STALE_AFTER.toMillis()));
+        
+        // Installing a font triggers a rebuild into a new directory
+        Files.setLastModifiedTime(system, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+        Path rebuilt = index.prepare(Design.defaults());
+        assertNotEquals(used, rebuilt);
+        // Another process may still be compiling against the previous directory
+        assertTrue(Files.isDirectory(used));
+        assertFalse(Files.exists(stale));
+    }
+    
+    @Test
+    void testMissingFamilyFallsBackToSystemFonts() throws Exception {
+        Files.createDirectories(tempDir.resolve("system"));
+        FontIndex index = new FontIndex(tempDir.resolve("index"), List.of(tempDir.resolve("system")));
+        
+        assertNull(index.prepare(Design.defaults()));
+    }
+    
+    /**
+     * Build a minimal sfnt file whose only table is a name table with one family name.
+     */
+    private static byte[] font(String family) throws Exception {
+        byte[] name = family.getBytes(StandardCharsets.UTF_16BE);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x00010000);
+        out.writeShort(1);
+        out.writeShort(16);
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeBytes("name");
+        out.writeInt(0);
+        out.writeInt(28);
+        out.writeInt(18 + name.length);
+        out.writeShort(0);
+        out.writeShort(1);
+        out.writeShort(18);
+        out.writeShort(3);
+        out.writeShort(1);
+        out.writeShort(0x409);
+        out.writeShort(1);
+        out.writeShort(name.length);
+        out.writeShort(0);
+        out.write(name);
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,79 @@
+package com.typecv.renderer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfCacheTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void testHitAfterPut() throws Exception {
+        PdfCache cache = new PdfCache(tempDir.resolve("cache"), 1024);
+        String key = cache.key(bytes("= Hello"), "0.12.0", List.of(), List.of());
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertFalse(cache.copyTo(key, out));
+        cache.put(key, bytes("%PDF hello"));
+        assertTrue(cache.copyTo(key, out));
+        
+        assertEquals("%PDF hello", out.toString(StandardCharsets.UTF_8));
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(0.5, cache.hitRate());
+        assertEquals(10, cache.bytesSaved());
+    }
+    
+    @Test
+    void testKeyCoversVersionAndAssets() throws Exception {
+        PdfCache cache = new PdfCache(tempDir.resolve("cache"), 1024);
+        Path photo = tempDir.resolve("photo.png");
+        Files.writeString(photo, "one");
+        String key = cache.key(bytes("= Hello"), "0.12.0", List.of(), List.of(photo));
+        
+        assertEquals(key, cache.key(bytes("= Hello"), "0.12.0", List.of(), List.of(photo)));
+        assertNotEquals(key, cache.key(bytes("= Hello"), "0.13.0", List.of(), List.of(photo)));
+        Files.writeString(photo, "two");
+        assertNotEquals(key, cache.key(bytes("= Hello"), "0.12.0", List.of(), List.of(photo)));
+    }
+    
+    @Test
+    void testEvictsLeastRecentlyUsed() throws Exception {
+        Path dir = tempDir.resolve("cache");
+        PdfCache cache = new PdfCache(dir, 25);
+        String first = cache.key(bytes("first"), "0.12.0", List.of(), List.of());
+        String second = cache.key(bytes("second"), "0.12.0", List.of(), List.of());
+        String third = cache.key(bytes("third"), "0.12.0", List.of(), List.of());
+        
+        cache.put(first, new byte[10]);
+        cache.put(second, new byte[10]);
+        // Make the first entry the most recently used
+        setUsed(dir, second, 1_000);
+        setUsed(dir, first, 2_000);
+        cache.put(third, new byte[10]);
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(cache.copyTo(first, out));
+        assertFalse(cache.copyTo(second, out));
+        assertTrue(cache.copyTo(third, out));
+    }
+    
+    private static void setUsed(Path dir, String key, long millis) throws Exception {
+        Path entry = dir.resolve(key.substring(0, 2)).resolve(key + ".pdf");
+        Files.setLastModifiedTime(entry, FileTime.fromMillis(millis));
+    }
+    
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -2,10 +2,22 @@ package com.typecv.renderer;
 
 import com.typecv.model.*;
 import com.typecv.util.YamlParser;
+import freemarker.template.Configuration;
+import freemarker.template.TemplateHashModel;
+import freemarker.template.TemplateMethodModelEx;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -87,4 +99,336 @@ class TemplateEngineTest {
         // Should format "work_experience" as "Work Experience"
         assertTrue(typst.contains("#section-title[Work Experience]"));
     }
+    
+    @Test
+    void testSharedEngineRendersConcurrently() throws Exception {
+        InputStream is = getClass().getClassLoader().getResourceAsStream("sample_content.yaml");
+        assertNotNull(is);
+        
+        CV cv = parser.parse(is);
+        TemplateEngine shared = TemplateEngine.shared();
+        assertSame(shared, TemplateEngine.shared());
+        
+        String expected = engine.render(cv);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> shared.render(cv)));
+            }
+            for (Future<String> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void testStreamingRenderMatchesStringRender() throws Exception {
+        InputStream is = getClass().getClassLoader().getResourceAsStream("sample_content.yaml");
+        assertNotNull(is);
+        
+        CV cv = parser.parse(is);
+        String expected = engine.render(cv);
+        
+        StringWriter writer = new StringWriter();
+        engine.render(cv, writer);
+        assertEquals(expected, writer.toString());
+        
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        engine.render(cv, bytes);
+        assertEquals(expected, bytes.toString(StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    void testEscapeTypstReturnsSameInstanceWhenClean() {
+        String clean = "Reduced system latency by 40% through optimization (GPA: 3.9/4.0)";
+        assertSame(clean, TemplateEngine.escapeTypst(clean));
+        assertNull(TemplateEngine.escapeTypst(null));
+    }
+    
+    @Test
+    void testEscapeTypstSpecialCharacters() {
+        assertEquals("Saved \\$2M for \\@team", TemplateEngine.escapeTypst("Saved $2M for @team"));
+        assertEquals("\\#1 in \\*C++\\* \\_fast\\_", TemplateEngine.escapeTypst("#1 in *C++* _fast_"));
+        assertEquals("\\<tag\\> \\`code\\` \\[x\\] a\\\\b \\~5", TemplateEngine.escapeTypst("<tag> `code` [x] a\\b ~5"));
+        assertEquals("\\- item", TemplateEngine.escapeTypst("- item"));
+        assertEquals("\\= Title", TemplateEngine.escapeTypst("= Title"));
+        assertEquals("a - b = c", TemplateEngine.escapeTypst("a - b = c"));
+        assertEquals("+1 555 123 4567", TemplateEngine.escapeTypst("+1 555 123 4567"));
+        // Markers count at the start of every line, not only of the text
+        assertEquals("Led:\n\\- design\n  \\+ review\n\\== Notes", TemplateEngine.escapeTypst("Led:\n- design\n  + review\n== Notes"));
+        assertEquals("1\\. First\n12\\. Twelfth", TemplateEngine.escapeTypst("1. First\n12. Twelfth"));
+        assertEquals("Version 2. Released 1.5 and v1. ok", TemplateEngine.escapeTypst("Version 2. Released 1.5 and v1. ok"));
+    }
+    
+    @Test
+    void testEscapeTypstComments() {
+        assertEquals("a \\// b \\/\\* c", TemplateEngine.escapeTypst("a // b /* c"));
+        
+        String url = "See https://example.com/a/b";
+        assertSame(url, TemplateEngine.escapeTypst(url));
+    }
+    
+    @Test
+    void testEntryAndHeaderTextIsEscaped() throws Exception {
+        String yaml = """
+            cv:
+              name: Test $User
+              sections:
+                experience:
+                  - company: "Acme #1"
+                    position: Developer
+                    highlights:
+                      - Saved $2M for @team
+            """;
+        
+        CV cv = parser.parseString(yaml);
+        String typst = engine.render(cv);
+        
+        assertTrue(typst.contains("Test \\$User"));
+        assertTrue(typst.contains("*Acme \\#1*, Developer"));
+        assertTrue(typst.contains("#bullet-item[Saved \\$2M for \\@team]"));
+    }
+    
+    @Test
+    void testEscapedViewsAreCached() {
+        ExperienceEntry entry = new ExperienceEntry(
+            "Acme $", "Developer", null, "2020-01", "present", null, null, List.of("Saved $2M"));
+        ExperienceEntry view = (ExperienceEntry) EscapedViews.entry(entry);
+        
+        assertEquals("Acme \\$", view.company());
+        assertEquals(List.of("Saved \\$2M"), view.highlights());
+        assertSame(view, EscapedViews.entry(entry));
+        
+        // Equal records share the view; records with nothing to escape are returned as is
+        ExperienceEntry copy = new ExperienceEntry(
+            "Acme $", "Developer", null, "2020-01", "present", null, null, List.of("Saved $2M"));
+        assertSame(view, EscapedViews.entry(copy));
+        
+        BulletEntry clean = new BulletEntry("Java, Python");
+        assertSame(clean, EscapedViews.entry(clean));
+        
+        // Links keep their characters
+        PublicationEntry publication = new PublicationEntry("A_B", null, "10.1/a_b", null, null, null);
+        assertEquals(new PublicationEntry("A\\_B", null, "10.1/a_b", null, null, null), EscapedViews.entry(publication));
+    }
+    
+    @Test
+    void testEscapedCvDataKeepsSectionsAndLinks() {
+        CvData cvData = new CvData("A #1", null, null, "a@b.c", "photo_1.jpg", null, "https://a.b/c_d",
+            List.of(), Map.of("skills", List.of(new BulletEntry("Java"))));
+        CvData escaped = EscapedViews.cvData(cvData);
+        
+        assertEquals("A \\#1", escaped.name());
+        assertEquals("a\\@b.c", escaped.email());
+        assertEquals("photo_1.jpg", escaped.photo());
+        assertEquals("https://a.b/c_d", escaped.website());
+        assertSame(cvData.sections(), escaped.sections());
+        
+        CvData clean = new CvData("A", null, null, null, null, null, null, List.of(), Map.of());
+        assertSame(clean, EscapedViews.cvData(clean));
+    }
+    
+    @Test
+    void testRenderEveryEntryType() throws Exception {
+        String yaml = """
+            cv:
+              name: Test User
+              sections:
+                projects:
+                  - name: TypeCV
+                    date: "2024"
+                    highlights:
+                      - CV generator
+                publications:
+                  - title: On Typesetting
+                    authors: [A. Author, B. Author]
+                    journal: Journal of Type
+                    date: 2023-07
+                    doi: 10.1000/type_setting
+                certifications:
+                  - label: Cloud
+                    details: AWS Solutions Architect
+                awards:
+                  - number: Best Paper Award
+                talks:
+                  - reversed_number: Keynote at TypeConf
+                  - reversed_number: Lightning talk
+            """;
+        
+        CV cv = parser.parseString(yaml);
+        String typst = engine.render(cv);
+        
+        assertTrue(typst.contains("*TypeCV*"));
+        assertTrue(typst.contains("*On Typesetting*"));
+        assertTrue(typst.contains("#link(\"https://doi.org/10.1000/type_setting\")[10.1000/type\\_setting]"));
+        assertTrue(typst.contains("*Cloud:* AWS Solutions Architect"));
+        assertTrue(typst.contains("+ Best Paper Award"));
+        // Reversed entries are counted down inside a scope of their own
+        int scope = typst.indexOf("#[\n#set enum(reversed: true)\n");
+        assertTrue(scope > typst.indexOf("+ Best Paper Award"));
+        assertTrue(typst.indexOf("+ Keynote at TypeConf") > scope);
+        assertTrue(typst.indexOf("]\n", typst.indexOf("+ Lightning talk")) > 0);
+        assertEquals(typst.indexOf("#set enum"), typst.lastIndexOf("#set enum"));
+    }
+    
+    @Test
+    void testParallelRenderMatchesSequential() throws Exception {
+        StringBuilder yaml = new StringBuilder("cv:\n  name: Test User\n  sections:\n");
+        for (String section : List.of("experience", "projects", "skills")) {
+            yaml.append("    ").append(section).append(":\n");
+            for (int i = 0; i < 50; i++) {
+                if (section.equals("skills")) {
+                    yaml.append("      - bullet: Skill ").append(i).append('\n');
+                } else {
+                    yaml.append("      - company: Company ").append(i).append('\n');
+                    yaml.append("        position: Engineer\n");
+                    yaml.append("        highlights: [Built $").append(i).append("M system]\n");
+                }
+            }
+        }
+        
+        CV cv = parser.parseString(yaml.toString());
+        TemplateEngine parallel = new TemplateEngine(RenderOptions.defaults().withParallel(8));
+        
+        assertEquals(engine.render(cv), parallel.render(cv));
+    }
+    
+    @Test
+    void testFragmentCacheReusesUnchangedFragments() throws Exception {
+        String yaml = """
+            cv:
+              name: Test User
+              sections:
+                experience:
+                  - company: Acme
+                    position: Developer
+                    highlights:
+                      - Built things
+                  - company: Globex
+                    position: Engineer
+                    highlights:
+                      - Shipped things
+            """;
+        TemplateEngine cached = new TemplateEngine(RenderOptions.defaults().withFragmentCache(100));
+        FragmentCache cache = cached.fragmentCache();
+        
+        CV cv = parser.parseString(yaml);
+        assertEquals(engine.render(cv), cached.render(cv));
+        long misses = cache.misses();
+        assertEquals(0, cache.hits());
+        
+        // Re-parsed but unchanged: every fragment is a hit
+        assertEquals(engine.render(cv), cached.render(parser.parseString(yaml)));
+        assertEquals(misses, cache.misses());
+        assertEquals(misses, cache.hits());
+        
+        // One edited highlight: only that entry is rendered again
+        CV edited = parser.parseString(yaml.replace("Shipped things", "Shipped $1M of things"));
+        assertEquals(engine.render(edited), cached.render(edited));
+        assertEquals(misses + 1, cache.misses());
+    }
+    
+    @Test
+    void testFragmentCacheEvictsLeastRecentlyUsed() throws Exception {
+        TemplateEngine cached = new TemplateEngine(RenderOptions.defaults().withFragmentCache(2));
+        RenderContext context = cached.createContext(parser.parseString("cv:\n  name: Test User\n"));
+        FragmentCache cache = cached.fragmentCache();
+        
+        FragmentCache.Key a = new FragmentCache.Key("t", "a", context);
+        FragmentCache.Key b = new FragmentCache.Key("t", "b", context);
+        FragmentCache.Key c = new FragmentCache.Key("t", "c", context);
+        cache.put(a, "A");
+        cache.put(b, "B");
+        assertEquals("A", cache.get(a));
+        cache.put(c, "C");
+        
+        assertNull(cache.get(b));
+        assertEquals("A", cache.get(a));
+        assertEquals("C", cache.get(c));
+        assertEquals(1, cache.evictions());
+        assertEquals(2, cache.size());
+    }
+    
+    @Test
+    void testRecordWrapperExposesAccessors() throws Exception {
+        RecordObjectWrapper wrapper = new RecordObjectWrapper(Configuration.VERSION_2_3_32);
+        ExperienceEntry entry = new ExperienceEntry(
+            "Acme", "Developer", null, "2020-01", "present", null, null, List.of("Built things"));
+        
+        TemplateHashModel model = (TemplateHashModel) wrapper.wrap(entry);
+        TemplateMethodModelEx company = (TemplateMethodModelEx) model.get("company");
+        assertEquals("Acme", company.exec(List.of()).toString());
+        assertNotNull(model.get("getFormattedDate"));
+        assertNull(model.get("getClass"));
+        assertNull(model.get("missing"));
+    }
+    
+    @Test
+    void testCompiledTemplatesMatchInterpreted() throws Exception {
+        TemplateEngine compiled = new TemplateEngine(RenderOptions.defaults().withCompiledTemplates());
+        String cv = """
+            cv:
+              name: Test $User
+              headline: Engineer
+              location: Berlin
+              email: test@example.com
+              phone: "+1 555"
+              website: https://example.com
+              social_networks:
+                - network: GitHub
+                  username: test
+                - network: LinkedIn
+                  username: test
+              sections:
+                experience:
+                  - company: Acme
+                    position: Developer
+                    location: Remote
+                    start_date: 2020-01
+                    end_date: present
+                    summary: Did things
+                    highlights: [Built $1M system, Led team]
+                publications:
+                  - title: On Typesetting
+                    authors: [A. Author, B. Author]
+                    url: https://example.com/paper
+            """;
+        List<String> designs = List.of(
+            "",
+            """
+            design:
+              section_titles:
+                type: moderncv
+              header:
+                alignment: left
+                connections:
+                  hyperlink: false
+                  show_icons: true
+                  separator: "|"
+              typography:
+                alignment: justified-with-no-hyphenation
+                small_caps:
+                  name: true
+                  section_titles: true
+              links:
+                underline: true
+            """,
+            """
+            design:
+              section_titles:
+                type: without_line
+              header:
+                alignment: right
+                connections:
+                  display_urls_instead_of_usernames: true
+            """);
+        
+        for (String design : designs) {
+            CV parsed = parser.parseString(cv + design);
+            assertEquals(engine.render(parsed), compiled.render(parsed));
+        }
+    }
 }
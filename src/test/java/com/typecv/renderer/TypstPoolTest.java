@@ -0,0 +1,160 @@
+package com.typecv.renderer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs TypstPool against a shell script that imitates {@code typst watch}.
+ */
+@DisabledOnOs(OS.WINDOWS)
+class TypstPoolTest {
+    
+    /**
+     * Polls the input file and "compiles" it by copying it to the output. A source
+     * containing "#fail" reports an error, "#hang" never answers, "#crash" exits and
+     * "#twice" reports a second, late status as a watcher does on duplicate file events.
+     */
+    private static final String FAKE_TYPST = """
+        #!/bin/sh
+        input=$4
+        output=$5
+        last=
+        while true; do
+          current=$(cat "$input" 2>/dev/null; echo .)
+          if [ "$current" != "$last" ]; then
+            last=$current
+            case "$current" in
+              *'#fail'*)
+                echo '/slot/input.typ:1:2: error: unknown variable: fail'
+                echo '[12:00:00] compiled with errors' ;;
+              *'#hang'*) ;;
+              *'#crash'*) exit 3 ;;
+              *'#twice'*)
+                cp "$input" "$output"
+                echo '[12:00:00] compiled successfully in 1.00ms'
+                sleep 0.3
+                echo '[12:00:00] compiled successfully in 1.00ms' ;;
+              *)
+                cp "$input" "$output"
+                echo '[12:00:00] compiled successfully in 1.00ms' ;;
+            esac
+          fi
+          sleep 0.02
+        done
+        """;
+    
+    @TempDir
+    Path tempDir;
+    
+    private TypstPool fakePool(int size, Duration jobTimeout) throws Exception {
+        Path script = tempDir.resolve("typst");
+        Files.writeString(script, FAKE_TYPST);
+        assertTrue(script.toFile().setExecutable(true));
+        return new TypstPool(script, size, jobTimeout);
+    }
+    
+    private static String compile(TypstPool pool, String source) throws Exception {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        CompileResult result = pool.compile(source, pdf);
+        assertTrue(result.success(), () -> result.diagnostics().toString());
+        return pdf.toString(StandardCharsets.UTF_8);
+    }
+    
+    @Test
+    void testJobsAreSpreadOverSlots() throws Exception {
+        try (TypstPool pool = fakePool(2, Duration.ofSeconds(10))) {
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<String>> results = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    String source = "= Document " + i;
+                    results.add(executor.submit(() -> compile(pool, source)));
+                }
+                for (int i = 0; i < 8; i++) {
+                    assertEquals("= Document " + i, results.get(i).get());
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            
+            assertEquals(0, pool.queueDepth());
+            List<TypstPool.SlotStats> stats = pool.slotStats();
+            assertEquals(2, stats.size());
+            assertEquals(8, stats.get(0).jobs() + stats.get(1).jobs());
+            assertTrue(stats.get(0).utilisation() > 0);
+        }
+    }
+    
+    @Test
+    void testErrorsAreReportedAsDiagnostics() throws Exception {
+        try (TypstPool pool = fakePool(1, Duration.ofSeconds(10))) {
+            ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+            CompileResult result = pool.compile("#fail", pdf);
+            
+            assertFalse(result.success());
+            assertEquals(0, pdf.size());
+            assertEquals("unknown variable: fail", result.errors().get(0).message());
+            
+            // The slot keeps working after a compile error
+            assertEquals("= Fixed", compile(pool, "= Fixed"));
+        }
+    }
+    
+    @Test
+    void testCrashedAndHungWorkersAreRecycled() throws Exception {
+        try (TypstPool pool = fakePool(1, Duration.ofSeconds(1))) {
+            assertThrows(IOException.class, () -> pool.compile("#crash", new ByteArrayOutputStream()));
+            assertEquals("= After crash", compile(pool, "= After crash"));
+            
+            assertThrows(IOException.class, () -> pool.compile("#hang", new ByteArrayOutputStream()));
+            assertEquals("= After hang", compile(pool, "= After hang"));
+            
+            TypstPool.SlotStats stats = pool.slotStats().get(0);
+            assertEquals(2, stats.failures());
+            assertEquals(2, stats.recycles());
+            assertEquals(4, stats.jobs());
+        }
+    }
+    
+    @Test
+    void testInterruptedJobRecyclesWorker() throws Exception {
+        try (TypstPool pool = fakePool(1, Duration.ofSeconds(10))) {
+            Thread job = new Thread(() -> assertThrows(InterruptedException.class,
+                () -> pool.compile("#hang", new ByteArrayOutputStream())));
+            job.start();
+            Thread.sleep(300);
+            job.interrupt();
+            job.join();
+            
+            assertEquals("= After interrupt", compile(pool, "= After interrupt"));
+            TypstPool.SlotStats stats = pool.slotStats().get(0);
+            assertEquals(1, stats.failures());
+            assertEquals(1, stats.recycles());
+        }
+    }
+    
+    @Test
+    void testLateStatusIsNotTakenForNextJob() throws Exception {
+        try (TypstPool pool = fakePool(1, Duration.ofSeconds(10))) {
+            assertEquals("#twice", compile(pool, "#twice"));
+            // The second status of the previous job arrives while this one waits
+            assertEquals("= Next", compile(pool, "= Next"));
+        }
+    }
+}
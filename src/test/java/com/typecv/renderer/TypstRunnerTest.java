@@ -0,0 +1,301 @@
+package com.typecv.renderer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs TypstRunner against a shell script that stands in for the Typst binary.
+ */
+@DisabledOnOs(OS.WINDOWS)
+class TypstRunnerTest {
+    
+    /**
+     * Echoes stdin after a PDF header, or writes part of a PDF and fails with
+     * diagnostics when the source contains "#fail".
+     */
+    private static final String FAKE_TYPST = """
+        #!/bin/sh
+        source=$(cat)
+        case "$source" in
+          *'#fail'*)
+            printf '%%PDF-1.7 partial'
+            echo '<stdin>:3:2: error: unknown variable: fail' >&2
+            echo 'hint: check the spelling' >&2
+            exit 1 ;;
+        esac
+        printf '%%PDF-1.7 %s' "$source"
+        """;
+    
+    @TempDir
+    Path tempDir;
+    
+    private TypstRunner fakeRunner() throws Exception {
+        Path script = tempDir.resolve("typst");
+        Files.writeString(script, FAKE_TYPST);
+        assertTrue(script.toFile().setExecutable(true));
+        return new TypstRunner(script);
+    }
+    
+    @Test
+    void testCompileThroughPipes() throws Exception {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        CompileResult result = fakeRunner().compile(
+            new ByteArrayInputStream("= Hello".getBytes(StandardCharsets.UTF_8)), pdf);
+        
+        assertTrue(result.success());
+        assertEquals(List.of(), result.diagnostics());
+        assertEquals("%PDF-1.7 = Hello", pdf.toString(StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    void testCompileFailureReportsDiagnostics() throws Exception {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        CompileResult result = fakeRunner().compile(
+            new ByteArrayInputStream("#fail".getBytes(StandardCharsets.UTF_8)), pdf);
+        
+        assertFalse(result.success());
+        assertEquals(0, pdf.size());
+        assertEquals(List.of(
+            new TypstDiagnostic(TypstDiagnostic.Severity.ERROR, "<stdin>", 3, 2, "unknown variable: fail"),
+            new TypstDiagnostic(TypstDiagnostic.Severity.HINT, null, 0, 0, "check the spelling")),
+            result.diagnostics());
+        assertEquals(1, result.errors().size());
+    }
+    
+    @Test
+    void testSourceReadErrorFailsCompile() throws Exception {
+        InputStream source = new SequenceInputStream(
+            new ByteArrayInputStream("= Hello".getBytes(StandardCharsets.UTF_8)),
+            new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    throw new IOException("disk gone");
+                }
+            });
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        
+        IOException e = assertThrows(IOException.class, () -> fakeRunner().compile(source, pdf));
+        assertEquals("disk gone", e.getMessage());
+        // The truncated source never turns into a PDF
+        assertEquals(0, pdf.size());
+    }
+    
+    @Test
+    void testCacheHitSkipsTypst() throws Exception {
+        TypstRunner runner = fakeRunner();
+        PdfCache cache = new PdfCache(tempDir.resolve("cache"), 1024 * 1024);
+        runner.setPdfCache(cache);
+        Path source = tempDir.resolve("cv.typ");
+        Files.writeString(source, "= Hello");
+        Path pdf = tempDir.resolve("cv.pdf");
+        
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        assertTrue(runner.compile(new ByteArrayInputStream(Files.readAllBytes(source)), first, List.of()).success());
+        // A hit must not start the binary, so a broken one goes unnoticed
+        Files.delete(tempDir.resolve("typst"));
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        assertTrue(runner.compile(new ByteArrayInputStream(Files.readAllBytes(source)), second, List.of()).success());
+        runner.compile(source, pdf, List.of());
+        
+        assertEquals("%PDF-1.7 = Hello", second.toString(StandardCharsets.UTF_8));
+        assertEquals("%PDF-1.7 = Hello", Files.readString(pdf));
+        assertEquals(2, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+    
+    @Test
+    void testChangedAssetMissesCache() throws Exception {
+        TypstRunner runner = fakeRunner();
+        PdfCache cache = new PdfCache(tempDir.resolve("cache"), 1024 * 1024);
+        runner.setPdfCache(cache);
+        Path photo = tempDir.resolve("photo.png");
+        Files.writeString(photo, "one");
+        byte[] source = "#image(\"photo.png\")".getBytes(StandardCharsets.UTF_8);
+        
+        runner.compile(new ByteArrayInputStream(source), new ByteArrayOutputStream(), List.of(photo));
+        Files.writeString(photo, "two");
+        runner.compile(new ByteArrayInputStream(source), new ByteArrayOutputStream(), List.of(photo));
+        // Without the assets the cache cannot see the change, so it is not consulted
+        runner.compile(new ByteArrayInputStream(source), new ByteArrayOutputStream());
+        
+        assertEquals(0, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+    
+    /**
+     * File compiler: copies the input to the output, warns, fails on "#fail", floods
+     * its output before failing on "#chatty" and on "#hang" records the PID of a
+     * child process and waits for it.
+     */
+    private static final String FAKE_TYPST_FILES = """
+        #!/bin/sh
+        # compile --diagnostic-format short <input> <output>
+        case "$(cat "$4")" in
+          *'#fail'*)
+            echo "$4:1:1: error: unknown variable: fail"
+            exit 1 ;;
+          *'#chatty'*)
+            yes 'warning: noise' | head -n 20000
+            echo "$4:1:1: error: unknown variable: chatty"
+            exit 1 ;;
+          *'#hang'*)
+            sleep 30 &
+            echo $! > "$4.child"
+            wait
+            exit 0 ;;
+        esac
+        echo 'warning: font fallback'
+        cp "$4" "$5"
+        """;
+    
+    private TypstRunner fakeFileRunner() throws Exception {
+        Path script = tempDir.resolve("typst-files");
+        Files.writeString(script, FAKE_TYPST_FILES);
+        assertTrue(script.toFile().setExecutable(true));
+        return new TypstRunner(script);
+    }
+    
+    @Test
+    void testCompileAsyncCollectsOutput() throws Exception {
+        Path source = tempDir.resolve("cv.typ");
+        Files.writeString(source, "= Hello");
+        Path pdf = tempDir.resolve("cv.pdf");
+        
+        CompileResult result = fakeFileRunner().compileAsync(source, pdf, List.of(), Duration.ofSeconds(10))
+            .get(10, TimeUnit.SECONDS);
+        
+        assertTrue(result.success());
+        assertEquals(List.of(new TypstDiagnostic(TypstDiagnostic.Severity.WARNING, null, 0, 0, "font fallback")),
+            result.diagnostics());
+        assertEquals("= Hello", Files.readString(pdf));
+    }
+    
+    @Test
+    void testCompileAsyncKeepsTailOfLongOutput() throws Exception {
+        Path source = tempDir.resolve("cv.typ");
+        Files.writeString(source, "#chatty");
+        
+        CompileResult result = fakeFileRunner().compileAsync(source, tempDir.resolve("cv.pdf"), List.of(),
+            Duration.ofSeconds(10)).get(10, TimeUnit.SECONDS);
+        
+        List<TypstDiagnostic> diagnostics = result.diagnostics();
+        assertFalse(result.success());
+        assertTrue(diagnostics.get(0).message().endsWith("earlier bytes of Typst output were dropped"));
+        assertEquals("unknown variable: chatty", diagnostics.get(diagnostics.size() - 1).message());
+        // Only the last OUTPUT_LIMIT bytes are kept, cut at a line boundary
+        assertTrue(diagnostics.size() <= TypstRunner.OUTPUT_LIMIT / "warning: noise\n".length() + 1);
+        assertEquals("noise", diagnostics.get(1).message());
+    }
+    
+    @Test
+    void testBlockingCompileReportsErrors() throws Exception {
+        Path source = tempDir.resolve("cv.typ");
+        Files.writeString(source, "#fail");
+        
+        IOException e = assertThrows(IOException.class,
+            () -> fakeFileRunner().compile(source, tempDir.resolve("cv.pdf")));
+        assertTrue(e.getMessage().contains("unknown variable: fail"), e.getMessage());
+    }
+    
+    @Test
+    void testDeadlineKillsProcessTree() throws Exception {
+        Path source = tempDir.resolve("cv.typ");
+        Files.writeString(source, "#hang");
+        
+        CompletableFuture<CompileResult> future = fakeFileRunner()
+            .compileAsync(source, tempDir.resolve("cv.pdf"), List.of(), Duration.ofMillis(500));
+        ProcessHandle child = awaitChild(source);
+        
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        child.onExit().get(10, TimeUnit.SECONDS);
+        assertFalse(child.isAlive());
+    }
+    
+    @Test
+    void testCancelKillsProcessTree() throws Exception {
+        Path source = tempDir.resolve("cv.typ");
+        Files.writeString(source, "#hang");
+        
+        CompletableFuture<CompileResult> future = fakeFileRunner()
+            .compileAsync(source, tempDir.resolve("cv.pdf"), List.of(), Duration.ofSeconds(60));
+        ProcessHandle child = awaitChild(source);
+        
+        assertTrue(future.cancel(true));
+        child.onExit().get(10, TimeUnit.SECONDS);
+        assertFalse(child.isAlive());
+        IOException cancelled = assertThrows(IOException.class, () -> TypstRunner.await(future));
+        assertEquals("Typst compilation was cancelled", cancelled.getMessage());
+    }
+    
+    @Test
+    void testExportsNumberedPages() throws Exception {
+        Path script = tempDir.resolve("typst-pages");
+        Files.writeString(script, """
+            #!/bin/sh
+            # compile --diagnostic-format short --format png --ppi <ppi> <input> <output>
+            echo "$@" > "$8.args"
+            for page in 1 2; do
+              cp "$8" "$(echo "$9" | sed "s/{p}/$page/")"
+            done
+            """);
+        assertTrue(script.toFile().setExecutable(true));
+        Path source = tempDir.resolve("cv.typ");
+        Files.writeString(source, "= Hello");
+        TypstRunner runner = new TypstRunner(script);
+        
+        CompileResult result = runner.compileAsync(source, tempDir.resolve("cv-{p}.png"), OutputFormat.PNG, 200,
+            Duration.ofSeconds(10)).get(10, TimeUnit.SECONDS);
+        
+        assertTrue(result.success());
+        assertTrue(Files.exists(tempDir.resolve("cv-1.png")));
+        assertTrue(Files.exists(tempDir.resolve("cv-2.png")));
+        assertTrue(Files.readString(Path.of(source + ".args")).contains("--format png --ppi 200"));
+        assertThrows(IllegalArgumentException.class, () -> runner.compileAsync(source, tempDir.resolve("cv.svg"),
+            OutputFormat.SVG, 0, Duration.ofSeconds(10)));
+    }
+    
+    private static ProcessHandle awaitChild(Path source) throws Exception {
+        Path pidFile = Path.of(source + ".child");
+        for (int i = 0; i < 200 && (!Files.exists(pidFile) || Files.readString(pidFile).isBlank()); i++) {
+            Thread.sleep(25);
+        }
+        long pid = Long.parseLong(Files.readString(pidFile).strip());
+        return ProcessHandle.of(pid).orElseThrow();
+    }
+    
+    @Test
+    void testManifestDetectsChangedBinary() throws Exception {
+        Path binary = tempDir.resolve("typst");
+        Files.writeString(binary, "binary");
+        Path manifestFile = tempDir.resolve("manifest.properties");
+        
+        TypstManifest manifest = TypstManifest.of(binary, "0.12.0");
+        manifest.write(manifestFile);
+        assertEquals(manifest, TypstManifest.read(manifestFile));
+        assertTrue(manifest.isCurrent());
+        
+        Files.writeString(binary, "replaced binary");
+        assertFalse(manifest.isCurrent());
+        assertNull(TypstManifest.read(tempDir.resolve("missing.properties")));
+    }
+}
@@ -0,0 +1,128 @@
+package com.typecv.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CvFeedTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void testMultiDocumentYamlSkipsMalformedRecord() throws Exception {
+        String yaml = """
+            %YAML 1.2
+            ---
+            cv:
+              name: First
+            ---
+            cv:
+              name: [unclosed
+            --- # third
+            cv:
+              name: Third
+            ...
+            # trailing comment
+            """;
+        List<CvFeed.Result> results;
+        try (CvFeed feed = YamlParser.shared().feed(stream(yaml), CvFeed.Format.YAML)) {
+            results = iterate(feed);
+        }
+        
+        assertEquals(3, results.size());
+        assertEquals("First", results.get(0).cv().cv().name());
+        assertEquals(0, results.get(0).offset());
+        assertEquals(1, results.get(0).line());
+        
+        CvFeed.Result bad = results.get(1);
+        assertFalse(bad.isValid());
+        assertNull(bad.cv());
+        assertEquals(yaml.indexOf("---\ncv:\n  name: [unclosed"), bad.offset());
+        assertEquals(5, bad.line());
+        assertTrue(bad.toString().startsWith("record 1 at byte " + bad.offset() + " (line 5): "));
+        
+        assertEquals("Third", results.get(2).cv().cv().name());
+        assertEquals(8, results.get(2).line());
+    }
+    
+    @Test
+    void testJsonLinesFromFile() throws Exception {
+        Path file = tempDir.resolve("feed.jsonl");
+        Files.writeString(file, """
+            {"cv": {"name": "One", "sections": {"skills": [{"bullet": "Java"}]}}}
+            
+            {"cv": {"name": "Two"
+            {"cv": {"name": "Three"}, "design": {"theme": "classic"}}
+            """);
+        List<CvFeed.Result> results;
+        try (Stream<CvFeed.Result> feed = YamlParser.shared().feed(file.toFile()).stream()) {
+            results = feed.toList();
+        }
+        
+        assertEquals(3, results.size());
+        assertEquals("One", results.get(0).cv().cv().name());
+        assertEquals(1, results.get(0).cv().cv().sections().get("skills").size());
+        assertFalse(results.get(1).isValid());
+        assertEquals(3, results.get(1).line());
+        assertEquals("Three", results.get(2).cv().cv().name());
+        assertEquals(2, results.get(2).index());
+    }
+    
+    @Test
+    void testEmptyDocumentDoesNotSwallowNextCv() throws Exception {
+        String yaml = "cv:\n  name: A\n---\n---\ncv:\n  name: B\n";
+        List<CvFeed.Result> results;
+        try (CvFeed feed = YamlParser.shared().feed(stream(yaml), CvFeed.Format.YAML)) {
+            results = iterate(feed);
+        }
+        
+        assertEquals(2, results.size());
+        assertEquals("A", results.get(0).cv().cv().name());
+        assertEquals("B", results.get(1).cv().cv().name());
+        assertEquals(4, results.get(1).line());
+        assertEquals(yaml.indexOf("---\ncv:"), results.get(1).offset());
+    }
+    
+    @Test
+    void testCommentOnlyDocumentDoesNotSwallowNextCv() throws Exception {
+        String yaml = "---\n# exported feed\n---\ncv:\n  name: A\n---\n# nothing here\n---\ncv:\n  name: B\n";
+        List<CvFeed.Result> results;
+        try (CvFeed feed = YamlParser.shared().feed(stream(yaml), CvFeed.Format.YAML)) {
+            results = iterate(feed);
+        }
+        
+        assertEquals(2, results.size());
+        assertEquals("A", results.get(0).cv().cv().name());
+        assertEquals(3, results.get(0).line());
+        assertEquals("B", results.get(1).cv().cv().name());
+        assertEquals(8, results.get(1).line());
+    }
+    
+    @Test
+    void testEmptyFeed() throws Exception {
+        try (CvFeed feed = YamlParser.shared().feed(stream("# nothing\n---\n"), CvFeed.Format.YAML)) {
+            assertFalse(feed.hasNext());
+        }
+    }
+    
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static List<CvFeed.Result> iterate(CvFeed feed) {
+        List<CvFeed.Result> results = new ArrayList<>();
+        feed.forEachRemaining(results::add);
+        return results;
+    }
+}
@@ -0,0 +1,146 @@
+package com.typecv.util;
+
+import com.typecv.model.CV;
+import com.typecv.model.CvData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotCacheTest {
+    
+    /** Components whose strings the parser shares between CVs. */
+    private static final Set<String> SHARED_COMPONENTS = Set.of("institution", "company", "position", "area",
+        "degree", "location", "date", "startDate", "endDate", "network");
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void testSnapshotDecodesToParsedCv() throws Exception {
+        File yaml = sampleContent();
+        SnapshotCache cache = new SnapshotCache(new YamlParser(), tempDir.resolve("cache"), 1 << 20, "test");
+        
+        CV parsed = cache.parse(yaml);
+        CV decoded = cache.parse(yaml);
+        
+        assertEquals(new YamlParser().parse(yaml), parsed);
+        assertEquals(parsed, decoded);
+        assertNotSame(parsed, decoded);
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+    
+    @Test
+    void testHitMatchesMissBeyondEquality() throws Exception {
+        File yaml = sampleContent();
+        YamlParser parser = new YamlParser();
+        CV missed = new SnapshotCache(parser, tempDir.resolve("cache"), 1 << 20, "test").parse(yaml);
+        // A fresh cache over the same directory hits without having parsed
+        SnapshotCache cache = new SnapshotCache(parser, tempDir.resolve("cache"), 1 << 20, "test");
+        CV hit = cache.parse(yaml);
+        
+        assertEquals(1, cache.hits());
+        assertEquals(missed, hit);
+        assertSame(missed.design(), hit.design());
+        assertSame(missed.locale(), hit.locale());
+        assertSameShape(missed, hit);
+    }
+    
+    /**
+     * Check that two equal values use the same collection types throughout, and
+     * the same string instances for the entry components the parser shares.
+     */
+    private static void assertSameShape(Object expected, Object actual) {
+        if (expected == null || expected instanceof String) {
+            return;
+        }
+        assertEquals(expected.getClass(), actual.getClass());
+        if (expected instanceof List<?> list) {
+            for (int i = 0; i < list.size(); i++) {
+                assertSameShape(list.get(i), ((List<?>) actual).get(i));
+            }
+        } else if (expected instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                assertSameShape(entry.getValue(), ((Map<?, ?>) actual).get(entry.getKey()));
+            }
+        } else if (expected instanceof Record) {
+            RecordShape shape = RecordShape.of(expected.getClass());
+            Object[] values = shape.values(expected);
+            Object[] others = shape.values(actual);
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] instanceof String && !(expected instanceof CvData)
+                        && SHARED_COMPONENTS.contains(shape.name(i))) {
+                    assertSame(values[i], others[i], shape.name(i));
+                }
+                assertSameShape(values[i], others[i]);
+            }
+        }
+    }
+    
+    @Test
+    void testKeyCoversBytesAndThemeVersion() throws Exception {
+        SnapshotCache cache = new SnapshotCache(new YamlParser(), tempDir.resolve("cache"), 1 << 20, "test");
+        SnapshotCache other = new SnapshotCache(new YamlParser(), tempDir.resolve("cache"), 1 << 20, "other");
+        byte[] yaml = "cv:\n  name: Jane\n".getBytes();
+        
+        ParseOptions all = ParseOptions.defaults();
+        
+        assertEquals(cache.key(yaml, all), cache.key(yaml.clone(), all));
+        assertNotEquals(cache.key(yaml, all), cache.key("cv:\n  name: Jane \n".getBytes(), all));
+        assertNotEquals(cache.key(yaml, all), other.key(yaml, all));
+        assertNotEquals(cache.key(yaml, all), cache.key(yaml, all.withSections(List.of("skills"))));
+    }
+    
+    @Test
+    void testDamagedSnapshotIsReplaced() throws Exception {
+        File yaml = sampleContent();
+        Path dir = tempDir.resolve("cache");
+        SnapshotCache cache = new SnapshotCache(new YamlParser(), dir, 1 << 20, "test");
+        CV parsed = cache.parse(yaml);
+        
+        Path snapshot = snapshots(dir).get(0);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length / 2));
+        
+        assertEquals(parsed, cache.parse(yaml));
+        assertEquals(0, cache.hits());
+        assertArrayEquals(bytes, Files.readAllBytes(snapshot));
+        assertEquals(parsed, cache.parse(yaml));
+        assertEquals(1, cache.hits());
+    }
+    
+    @Test
+    void testRejectsTypesOutsideTheModel() {
+        byte[] snapshot = SnapshotCodec.encode(List.of(new Outside("x")));
+        assertThrows(IOException.class, () -> SnapshotCodec.decode(snapshot));
+    }
+    
+    record Outside(String value) {
+    }
+    
+    private File sampleContent() throws Exception {
+        Path file = tempDir.resolve("cv.yaml");
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("sample_content.yaml")) {
+            Files.copy(in, file);
+        }
+        return file.toFile();
+    }
+    
+    private static List<Path> snapshots(Path dir) throws Exception {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(p -> p.toString().endsWith(".cv")).toList();
+        }
+    }
+}
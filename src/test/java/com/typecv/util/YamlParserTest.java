@@ -4,8 +4,14 @@ import com.typecv.model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -158,4 +164,101 @@ class YamlParserTest {
         TextEntry text = (TextEntry) summary.get(0);
         assertEquals("This is a text entry", text.text());
     }
+    
+    @Test
+    void testEntryDeserializerMatchesParser() throws Exception {
+        // Binding through the mapper takes the same path as section parsing, including text objects
+        assertEquals(new TextEntry("hello"), parser.getMapper().readValue("text: hello", Entry.class));
+        assertEquals(new TextEntry("plain"), parser.getMapper().readValue("plain", Entry.class));
+        assertInstanceOf(BulletEntry.class, parser.getMapper().readValue("bullet: Java", Entry.class));
+    }
+    
+    @Test
+    void testClassifierFollowsRulePriority() {
+        int nameLabelDetails = EntryClassifier.bit("name") | EntryClassifier.bit("label") | EntryClassifier.bit("details");
+        
+        assertEquals(ProjectEntry.class, EntryClassifier.type(EntryClassifier.bit("name")));
+        assertEquals(OneLineEntry.class, EntryClassifier.type(nameLabelDetails));
+        assertEquals(EducationEntry.class, EntryClassifier.type(EntryClassifier.INSTITUTION | EntryClassifier.COMPANY));
+        assertEquals(TextEntry.class, EntryClassifier.type(EntryClassifier.TEXT | EntryClassifier.bit("summary")));
+        assertNull(EntryClassifier.type(EntryClassifier.LABEL));
+    }
+    
+    @Test
+    void testSharedParserIsThreadSafe() throws Exception {
+        String yaml = new String(getClass().getClassLoader().getResourceAsStream("sample_content.yaml").readAllBytes(),
+            StandardCharsets.UTF_8);
+        CV expected = parser.parseString(yaml);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<CV>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                results.add(executor.submit(() -> YamlParser.shared().parseString(yaml)));
+            }
+            for (Future<CV> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void testSectionProjectionKeepsRequestedOrder() throws Exception {
+        String yaml = """
+            cv:
+              name: Jane
+              sections:
+                summary:
+                  - Engineer
+                experience:
+                  - company: Acme
+                    position: Developer
+                skills:
+                  - bullet: Java
+            """;
+        ParseOptions options = ParseOptions.defaults();
+        
+        CvData projected = parser.parse(stream(yaml), options.withSections(List.of("skills", "experience", "awards"))).cv();
+        assertEquals(List.of("skills", "experience"), List.copyOf(projected.sections().keySet()));
+        assertInstanceOf(ExperienceEntry.class, projected.sections().get("experience").get(0));
+        
+        CvData reordered = parser.parse(stream(yaml), options.withSections(List.of("skills", "*"))).cv();
+        assertEquals(List.of("skills", "summary", "experience"), List.copyOf(reordered.sections().keySet()));
+        assertEquals(parser.parseString(yaml).cv().sections().get("summary"), reordered.sections().get("summary"));
+    }
+    
+    @Test
+    void testEqualValuesAreSharedBetweenCvs() throws Exception {
+        String yaml = """
+            cv:
+              name: %s
+              sections:
+                experience:
+                  - company: Acme
+                    position: Developer
+                    start_date: 2020-01
+                    end_date: present
+                    highlights:
+                      - Shipped %s
+            """;
+        CV first = parser.parseString(yaml.formatted("Jane", "one"));
+        CV second = parser.parseString(yaml.formatted("John", "two"));
+        ExperienceEntry a = (ExperienceEntry) first.cv().sections().get("experience").get(0);
+        ExperienceEntry b = (ExperienceEntry) second.cv().sections().get("experience").get(0);
+        
+        assertSame(a.company(), b.company());
+        assertSame(a.endDate(), b.endDate());
+        assertSame(first.design(), second.design());
+        assertSame(Locale.defaults(), first.locale());
+        assertNotSame(a.highlights().get(0), b.highlights().get(0));
+        
+        CV uncanonical = new YamlParser(false).parseString(yaml.formatted("Jane", "one"));
+        assertEquals(first, uncanonical);
+    }
+    
+    private static InputStream stream(String yaml) {
+        return new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8));
+    }
 }